@@ -1,10 +1,15 @@
 package org.ezon.msa;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 public class Pagination {
 	public static final int PER_PAGE = 10;
+	// 커서 페이지네이션 한 번에 조회할 수 있는 최대 건수
+	public static final int MAX_SIZE = 100;
 
 	public static <T> List<T> paging(List<T> pagingList, int perPage, int page) throws IllegalArgumentException {
 		if(pagingList.size() <= perPage) {
@@ -39,4 +44,27 @@ public class Pagination {
 	public static int totalPage(List<?> list) {
 		return totalPage(list, PER_PAGE);
 	}
+	
+	// 요청한 size를 1 ~ MAX_SIZE로 제한
+	public static int clampSize(int size) {
+		return Math.max(1, Math.min(size, MAX_SIZE));
+	}
+	
+	// 커서 페이지네이션 : 마지막 행의 (정렬 일시, id)를 외부에 노출하지 않는 문자열로 변환
+	public record Cursor(LocalDateTime at, String id) {}
+	
+	public static String encodeCursor(LocalDateTime at, Object id) {
+		String raw = at + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static Cursor decodeCursor(String cursor) throws IllegalArgumentException {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int idx = raw.indexOf('|');
+			return new Cursor(LocalDateTime.parse(raw.substring(0, idx)), raw.substring(idx + 1));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor : " + cursor);
+		}
+	}
 }
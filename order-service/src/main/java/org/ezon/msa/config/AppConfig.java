@@ -1,13 +1,29 @@
 package org.ezon.msa.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
-	@Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
+	// 외부 서비스 동시 호출용 스레드풀
+	// 풀과 대기열이 가득 차면 거절 (요청 스레드에서 대신 실행하면 제한시간 없이 기다리게 됨, RemoteCalls가 기본값으로 처리)
+	@Bean(name = "remoteCallExecutor")
+	public ThreadPoolTaskExecutor remoteCallExecutor(
+			@Value("${order.remote.poolSize:16}") int poolSize,
+			@Value("${order.remote.queueCapacity:200}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("remote-call-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		return executor;
+	}
 }
@@ -0,0 +1,118 @@
+package org.ezon.msa.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.ezon.msa.resilience.DownstreamGuard;
+import org.ezon.msa.resilience.ResilienceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+// 모든 외부 서비스 호출이 같이 쓰는 HTTP 커넥션 풀 (keep-alive, 서비스별 커넥션 수/타임아웃)
+@Configuration
+@EnableConfigurationProperties({ HttpClientProperties.class, ResilienceProperties.class })
+public class HttpClientConfig {
+
+	@Bean
+	public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties props) {
+		PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(props.getMaxTotal())
+				.setMaxConnPerRoute(props.getDefaultMaxPerRoute())
+				.build();
+		// 서비스(host:port)별 connect/read 타임아웃
+		manager.setConnectionConfigResolver(route -> connectionConfig(props, find(props, route)));
+		for (HttpClientProperties.Downstream d : props.getDownstream().values()) {
+			if (d.getMaxPerRoute() != null) {
+				manager.setMaxPerRoute(new HttpRoute(new HttpHost(d.getHost(), d.getPort())), d.getMaxPerRoute());
+			}
+		}
+		return manager;
+	}
+
+	@Bean
+	public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+			HttpClientProperties props) {
+		TimeValue maxKeepAlive = TimeValue.of(props.getKeepAlive());
+		return HttpClients.custom()
+				.setConnectionManager(httpConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.of(props.getConnectionRequestTimeout()))
+						.build())
+				// 서버가 알려준 Keep-Alive 시간을 따르되 설정값보다 길게는 유지하지 않음
+				.setKeepAliveStrategy((response, context) -> {
+					TimeValue keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return keepAlive == null || keepAlive.toMilliseconds() <= 0
+							|| keepAlive.compareTo(maxKeepAlive) > 0 ? maxKeepAlive : keepAlive;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.of(props.getEvictIdle()))
+				.build();
+	}
+
+	// 서비스별 circuit breaker + bulkhead (장애 서비스 호출은 바로 실패시켜 기존 fallback으로 처리)
+	@Bean
+	public DownstreamGuard downstreamGuard(ResilienceProperties resilienceProperties, HttpClientProperties props) {
+		return new DownstreamGuard(resilienceProperties, props);
+	}
+
+	@Bean
+	public RestTemplate restTemplate(CloseableHttpClient httpClient, DownstreamGuard downstreamGuard) {
+		RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+		restTemplate.getInterceptors().add(downstreamGuard);
+		return restTemplate;
+	}
+
+	// 커넥션 풀 사용 현황 (전체 + 서비스별)
+	public static Map<String, Map<String, Object>> poolStats(PoolingHttpClientConnectionManager manager,
+			HttpClientProperties props) {
+		Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+		result.put("total", toMap(manager.getTotalStats()));
+		props.getDownstream().forEach((name, d) ->
+				result.put(name, toMap(manager.getStats(new HttpRoute(new HttpHost(d.getHost(), d.getPort()))))));
+		return result;
+	}
+
+	private static Map<String, Object> toMap(PoolStats stats) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("leased", stats.getLeased());
+		result.put("available", stats.getAvailable());
+		result.put("pending", stats.getPending());
+		result.put("max", stats.getMax());
+		return result;
+	}
+
+	private static HttpClientProperties.Downstream find(HttpClientProperties props, HttpRoute route) {
+		HttpHost target = route.getTargetHost();
+		for (HttpClientProperties.Downstream d : props.getDownstream().values()) {
+			if (d.getPort() == target.getPort() && d.getHost().equalsIgnoreCase(target.getHostName())) {
+				return d;
+			}
+		}
+		return null;
+	}
+
+	private static ConnectionConfig connectionConfig(HttpClientProperties props, HttpClientProperties.Downstream d) {
+		return ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.of(d != null && d.getConnectTimeout() != null
+						? d.getConnectTimeout() : props.getDefaultConnectTimeout()))
+				.setSocketTimeout(Timeout.of(d != null && d.getReadTimeout() != null
+						? d.getReadTimeout() : props.getDefaultReadTimeout()))
+				.setValidateAfterInactivity(TimeValue.ofSeconds(2))
+				.build();
+	}
+}
@@ -0,0 +1,41 @@
+package org.ezon.msa.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// 외부 서비스 HTTP 커넥션 풀 설정 (order.http.*)
+@Data
+@ConfigurationProperties(prefix = "order.http")
+public class HttpClientProperties {
+
+	// 전체 / 서비스(host:port)별 기본 최대 커넥션 수
+	private int maxTotal = 200;
+	private int defaultMaxPerRoute = 20;
+
+	// 서버가 Keep-Alive 시간을 주지 않을 때 커넥션을 재사용할 최대 시간
+	private Duration keepAlive = Duration.ofSeconds(30);
+	// 이 시간 동안 쓰이지 않은 커넥션은 정리
+	private Duration evictIdle = Duration.ofSeconds(60);
+	// 풀에서 커넥션을 얻기까지 기다리는 최대 시간
+	private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+	private Duration defaultConnectTimeout = Duration.ofSeconds(1);
+	private Duration defaultReadTimeout = Duration.ofSeconds(5);
+
+	// 서비스 이름(product, user, payment, delivery 등) -> 설정
+	private Map<String, Downstream> downstream = new LinkedHashMap<>();
+
+	@Data
+	public static class Downstream {
+		private String host = "localhost";
+		private int port;
+		private Duration connectTimeout;
+		private Duration readTimeout;
+		private Integer maxPerRoute;
+	}
+}
@@ -0,0 +1,60 @@
+package org.ezon.msa.config;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// IDENTITY -> SEQUENCE(pooled) 전환 후 기존 id와 겹치지 않도록 시퀀스 값을 max(id) 위로 올린다
+// MySQL은 시퀀스가 없어서 Hibernate가 {sequence}(next_val) 테이블로 대신 만든다
+// 스키마 생성(ddl-auto) 이후, 웹 요청을 받기 전에 실행
+// MySQL에서 맞추지 못하면 기존 id와 충돌하므로 기동을 실패시킨다
+// 전환 배포는 AUTO_INCREMENT로 insert하는 이전 버전과 동시에 띄우지 않는다 (같은 id 범위를 나눠 쓰게 됨)
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+	// @SequenceGenerator allocationSize (한 번에 미리 받는 id 개수)
+	public static final int ALLOCATION_SIZE = 50;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void init() {
+		// 실제 시퀀스를 지원하는 DB(H2 등)는 {sequence} 테이블이 없으므로 건너뜀
+		if (!isMySql()) {
+			System.out.println("[id 시퀀스] 시퀀스 테이블 정렬 생략 (MySQL 아님)");
+			return;
+		}
+		align("order_item", "order_item_id", "order_item_seq");
+		align("claim", "claim_id", "claim_seq");
+		align("outbox_message", "outbox_id", "outbox_message_seq");
+	}
+
+	// 예외는 그대로 던져서 기동 실패 (테이블 없음/잠금 등)
+	private void align(String table, String idColumn, String sequenceTable) {
+		Long maxId = jdbcTemplate.queryForObject("select coalesce(max(" + idColumn + "), 0) from " + table, Long.class);
+		// pooled 방식은 읽은 값 - allocationSize + 1 부터 사용하므로 그만큼 여유를 둔다
+		long required = maxId + ALLOCATION_SIZE + 1;
+		int updated = jdbcTemplate.update("update " + sequenceTable + " set next_val = ? where next_val < ?", required, required);
+		if (updated > 0) {
+			System.out.println("[id 시퀀스] " + sequenceTable + " next_val -> " + required);
+		}
+		Long current = jdbcTemplate.queryForObject("select max(next_val) from " + sequenceTable, Long.class);
+		if (current == null || current < required) {
+			throw new IllegalStateException("[id 시퀀스] " + sequenceTable + " next_val(" + current + ")이 "
+					+ table + " max(" + idColumn + ")=" + maxId + " 보다 작음");
+		}
+	}
+
+	private boolean isMySql() {
+		String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+		return product != null && product.toLowerCase().contains("mysql");
+	}
+}
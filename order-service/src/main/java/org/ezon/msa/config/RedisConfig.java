@@ -1,23 +1,29 @@
-//package org.ezon.msa.config;
-//
-//import org.springframework.context.annotation.Bean;
-//import org.springframework.context.annotation.Configuration;
-//import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
-//import org.springframework.session.web.http.CookieSerializer;
-//import org.springframework.session.web.http.DefaultCookieSerializer;
-//
-//@Configuration
-//@EnableRedisHttpSession
-//public class RedisConfig {
-//
-//    @Bean
-//    public CookieSerializer cookieSerializer() {
-//        DefaultCookieSerializer serializer = new DefaultCookieSerializer();
-//        serializer.setCookieName("JSESSIONID");
-//        serializer.setCookiePath("/");
-//        serializer.setDomainNamePattern("^localhost$"); // 로컬 개발환경 설정
-//        serializer.setUseHttpOnlyCookie(true);
-//        serializer.setSameSite("Lax"); // SameSite 정책
-//        return serializer;
-//    }
-//}
+package org.ezon.msa.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+
+// Redis(주문 상세 캐시) 연결 설정 : Redis가 내려가 있으면 명령을 쌓아두지 않고 바로 실패시켜
+// 호출하는 쪽(OrderDetailCache)이 캐시 없이 진행하도록 한다
+@Configuration
+public class RedisConfig {
+
+	@Bean
+	public LettuceClientConfigurationBuilderCustomizer lettuceFailFastCustomizer(
+			@Value("${spring.data.redis.connect-timeout:500ms}") Duration connectTimeout,
+			@Value("${spring.data.redis.timeout:500ms}") Duration commandTimeout) {
+		return builder -> builder.clientOptions(ClientOptions.builder()
+				.disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+				.socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+				.timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+				.build());
+	}
+}
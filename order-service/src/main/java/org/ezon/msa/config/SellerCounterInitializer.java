@@ -0,0 +1,31 @@
+package org.ezon.msa.config;
+
+import org.ezon.msa.service.SellerCounterService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// 판매자 상태 카운터가 비어 있으면(배포 직후) 웹 요청을 받기 전에 테이블 기준으로 채운다
+// 비어 있는 동안 대시보드가 0으로 보이거나, 이전 상세 내역의 감소분으로 음수가 되지 않도록
+@Component
+public class SellerCounterInitializer {
+
+	private final SellerCounterService sellerCounterService;
+
+	@Value("${order.sellerCounter.seedOnStartup:true}")
+	private boolean seedOnStartup;
+
+	public SellerCounterInitializer(SellerCounterService sellerCounterService) {
+		this.sellerCounterService = sellerCounterService;
+	}
+
+	@PostConstruct
+	public void init() {
+		if (!seedOnStartup || !sellerCounterService.isEmpty()) {
+			return;
+		}
+		System.out.println("[판매자 상태 카운터] 비어 있음 -> 기동 시 재계산");
+		sellerCounterService.rebuild();
+	}
+}
@@ -0,0 +1,139 @@
+package org.ezon.msa.controller;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ezon.msa.enums.ClaimType;
+import org.ezon.msa.enums.ExportFormat;
+import org.ezon.msa.service.OrderExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+// 주문/클레임 내역 내보내기 (CSV, NDJSON) : 응답을 다 만들고 보내지 않고 읽는 대로 내려보낸다
+// 타임아웃은 이 엔드포인트에만 적용하고 (다른 비동기 요청은 기본값 유지), 동시에 maxConcurrent건까지만 실행
+@RestController
+@RequestMapping("/api/orders/export")
+public class ExportController {
+
+	private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private static final int WAITING = 0;
+	private static final int RUNNING = 1;
+	private static final int DONE = 2;
+
+	private final OrderExportService orderExportService;
+	private final long timeoutMs;
+	private final Semaphore permits;
+
+	public ExportController(OrderExportService orderExportService,
+			@Value("${order.export.timeout:30m}") Duration timeout,
+			@Value("${order.export.maxConcurrent:2}") int maxConcurrent) {
+		this.orderExportService = orderExportService;
+		this.timeoutMs = timeout.toMillis();
+		this.permits = new Semaphore(Math.max(1, maxConcurrent));
+	}
+
+	@FunctionalInterface
+	private interface Export {
+		long writeTo(OutputStream out) throws Exception;
+	}
+
+	// 주문 내역 (sellerId가 없으면 전체, 관리자)
+	@GetMapping("/items")
+	public WebAsyncTask<Void> exportItems(
+			@RequestParam(required = false) Long sellerId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+			@RequestParam(defaultValue = "CSV") ExportFormat format,
+			HttpServletResponse response) {
+		if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+			return reject(response, HttpStatus.BAD_REQUEST);
+		}
+		return export(response, "order-items", format, "주문 내역", sellerId,
+				out -> orderExportService.exportItems(sellerId, startDate, endDate, format, out));
+	}
+
+	// 클레임 내역 (type이 없으면 취소/환불/교환 전체)
+	@GetMapping("/claims")
+	public WebAsyncTask<Void> exportClaims(
+			@RequestParam(required = false) Long sellerId,
+			@RequestParam(required = false) ClaimType type,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+			@RequestParam(defaultValue = "CSV") ExportFormat format,
+			HttpServletResponse response) {
+		if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+			return reject(response, HttpStatus.BAD_REQUEST);
+		}
+		return export(response, "claims", format, "클레임 내역", sellerId,
+				out -> orderExportService.exportClaims(sellerId, type, startDate, endDate, format, out));
+	}
+
+	private WebAsyncTask<Void> export(HttpServletResponse response, String name, ExportFormat format,
+			String label, Long sellerId, Export export) {
+		if (!permits.tryAcquire()) {
+			System.out.println("[내보내기] 동시 실행 한도 초과 : " + label + ", sellerId => " + sellerId);
+			response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+			return reject(response, HttpStatus.TOO_MANY_REQUESTS);
+		}
+		String filename = name + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+				+ (format == ExportFormat.CSV ? ".csv" : ".ndjson");
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType((format == ExportFormat.CSV ? TEXT_CSV : NDJSON).toString());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+		// 허가는 실제로 내보내기가 끝날 때 반납 (타임아웃 후에도 작업 스레드가 끝날 때까지는 점유),
+		// 작업이 시작되기 전에 끝난 요청(타임아웃/연결 끊김)은 완료 시점에 반납
+		AtomicInteger state = new AtomicInteger(WAITING);
+		WebAsyncTask<Void> task = new WebAsyncTask<>(timeoutMs, () -> {
+			if (!state.compareAndSet(WAITING, RUNNING)) {
+				return null;
+			}
+			try {
+				long count = export.writeTo(response.getOutputStream());
+				System.out.println("[내보내기] " + label + " " + count + "건 : sellerId => " + sellerId);
+				return null;
+			} finally {
+				state.set(DONE);
+				permits.release();
+			}
+		});
+		task.onTimeout(() -> {
+			System.out.println("[내보내기] 타임아웃 (" + timeoutMs + "ms) : " + label + ", sellerId => " + sellerId);
+			// 아직 아무것도 보내지 않았으면 빈 200 대신 503
+			if (!response.isCommitted()) {
+				response.reset();
+				response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			}
+			return null;
+		});
+		task.onCompletion(() -> {
+			if (state.compareAndSet(WAITING, DONE)) {
+				permits.release();
+			}
+		});
+		return task;
+	}
+
+	// 비동기 처리 없이 상태 코드만 응답
+	private static WebAsyncTask<Void> reject(HttpServletResponse response, HttpStatus status) {
+		response.setStatus(status.value());
+		return null;
+	}
+}
@@ -0,0 +1,139 @@
+package org.ezon.msa.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.ezon.msa.config.HttpClientConfig;
+import org.ezon.msa.config.HttpClientProperties;
+import org.ezon.msa.event.OrderEventBus;
+import org.ezon.msa.resilience.DownstreamGuard;
+import org.ezon.msa.service.OrderDetailCache;
+import org.ezon.msa.service.OutboxService;
+import org.ezon.msa.service.PaymentIdFilter;
+import org.ezon.msa.service.RemoteLookupCache;
+import org.ezon.msa.service.SellerCounterService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// 운영 확인용 (캐시 등 내부 상태 조회)
+@RestController
+@RequestMapping("/api/orders/monitor")
+public class MonitorController {
+
+	private final RemoteLookupCache remoteLookupCache;
+	private final SellerCounterService sellerCounterService;
+	private final OutboxService outboxService;
+	private final PaymentIdFilter paymentIdFilter;
+	private final PoolingHttpClientConnectionManager httpConnectionManager;
+	private final HttpClientProperties httpClientProperties;
+	private final DownstreamGuard downstreamGuard;
+	private final OrderDetailCache orderDetailCache;
+	private final OrderEventBus orderEventBus;
+
+	public MonitorController(RemoteLookupCache remoteLookupCache, SellerCounterService sellerCounterService,
+			OutboxService outboxService, PaymentIdFilter paymentIdFilter,
+			PoolingHttpClientConnectionManager httpConnectionManager, HttpClientProperties httpClientProperties,
+			DownstreamGuard downstreamGuard, OrderDetailCache orderDetailCache, OrderEventBus orderEventBus) {
+		this.remoteLookupCache = remoteLookupCache;
+		this.sellerCounterService = sellerCounterService;
+		this.outboxService = outboxService;
+		this.paymentIdFilter = paymentIdFilter;
+		this.httpConnectionManager = httpConnectionManager;
+		this.httpClientProperties = httpClientProperties;
+		this.downstreamGuard = downstreamGuard;
+		this.orderDetailCache = orderDetailCache;
+		this.orderEventBus = orderEventBus;
+	}
+
+	// 외부 조회 캐시 hit/miss/eviction 통계
+	@GetMapping("/caches")
+	public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+		return ResponseEntity.ok(remoteLookupCache.stats());
+	}
+
+	// 주문 상세 Redis 캐시 hit/miss, Redis 오류(오류 후 retryAfter 동안은 캐시 없이 동작)
+	@GetMapping("/order-detail-cache")
+	public ResponseEntity<Map<String, Object>> getOrderDetailCacheStats() {
+		return ResponseEntity.ok(orderDetailCache.stats());
+	}
+
+	// 주문 이벤트 버스 (droppedCount가 늘거나 pending이 capacity에 가까우면 구독자 처리가 밀린 것)
+	@GetMapping("/event-bus")
+	public ResponseEntity<Map<String, Object>> getEventBusStats() {
+		return ResponseEntity.ok(orderEventBus.stats());
+	}
+
+	// 외부 서비스 HTTP 커넥션 풀 (pending이 계속 0보다 크면 maxPerRoute 부족)
+	@GetMapping("/http-pool")
+	public ResponseEntity<Map<String, Map<String, Object>>> getHttpPoolStats() {
+		return ResponseEntity.ok(HttpClientConfig.poolStats(httpConnectionManager, httpClientProperties));
+	}
+
+	// 외부 서비스별 circuit breaker 상태(CLOSED/OPEN/HALF_OPEN)와 bulkhead 사용량
+	@GetMapping("/circuit-breakers")
+	public ResponseEntity<Map<String, Map<String, Object>>> getCircuitBreakers() {
+		return ResponseEntity.ok(downstreamGuard.stats());
+	}
+
+	// 판매자 상태 카운터를 테이블 기준으로 다시 계산
+	@PostMapping("/seller-counters/rebuild")
+	public ResponseEntity<Map<String, Object>> rebuildSellerCounters() {
+		Map<String, Object> result = new HashMap<>();
+		result.put("counterCount", sellerCounterService.rebuild());
+		result.put("message", "process success");
+		return ResponseEntity.ok(result);
+	}
+
+	// 중복 결제 확인용 paymentId 필터 상태 (fillRatio가 높으면 expectedInsertions를 늘릴 것)
+	@GetMapping("/payment-filter")
+	public ResponseEntity<Map<String, Object>> getPaymentFilterStats() {
+		return ResponseEntity.ok(paymentIdFilter.stats());
+	}
+
+	// outbox 상태별 메시지 수 (PENDING이 계속 늘거나 FAILED가 있으면 외부 서비스 확인, DEAD는 요청 내용 확인)
+	@GetMapping("/outbox")
+	public ResponseEntity<Map<String, Long>> getOutboxStats() {
+		return ResponseEntity.ok(outboxService.stats());
+	}
+
+	// 재시도 횟수를 넘긴(FAILED) 메시지를 다시 전송 대기로
+	@PostMapping("/outbox/retry")
+	public ResponseEntity<Map<String, Object>> retryOutbox() {
+		Map<String, Object> result = new HashMap<>();
+		result.put("retryCount", outboxService.retryFailed());
+		result.put("message", "process success");
+		return ResponseEntity.ok(result);
+	}
+
+	// FAILED 메시지 때문에 전송이 멈춘 키 (waiting : 뒤에서 기다리는 메시지 수)
+	@GetMapping("/outbox/blocked")
+	public ResponseEntity<List<Map<String, Object>>> getBlockedOutboxKeys(
+			@RequestParam(value = "limit", defaultValue = "100") int limit) {
+		return ResponseEntity.ok(outboxService.blockedKeys(limit));
+	}
+
+	// 한 건만 다시 전송 대기로 (FAILED/DEAD)
+	@PostMapping("/outbox/{outboxId}/retry")
+	public ResponseEntity<Map<String, Object>> retryOutboxMessage(@PathVariable("outboxId") Long outboxId) {
+		Map<String, Object> result = new HashMap<>();
+		result.put("updated", outboxService.retry(outboxId));
+		result.put("message", "process success");
+		return ResponseEntity.ok(result);
+	}
+
+	// FAILED 메시지를 버리고(DEAD) 같은 키의 다음 메시지부터 전송
+	@PostMapping("/outbox/{outboxId}/dead")
+	public ResponseEntity<Map<String, Object>> markOutboxMessageDead(@PathVariable("outboxId") Long outboxId) {
+		Map<String, Object> result = new HashMap<>();
+		result.put("updated", outboxService.markDead(outboxId));
+		result.put("message", "process success");
+		return ResponseEntity.ok(result);
+	}
+}
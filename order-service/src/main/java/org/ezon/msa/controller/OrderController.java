@@ -6,16 +6,28 @@ import java.util.List;
 import java.util.Map;
 
 import org.ezon.msa.Pagination;
+import org.ezon.msa.dto.BulkShipmentRequestDto;
+import org.ezon.msa.dto.BulkTransitionRequestDto;
 import org.ezon.msa.dto.ClaimDto;
 import org.ezon.msa.dto.ClaimRequestDto;
 import org.ezon.msa.dto.OrderDetailDto;
 import org.ezon.msa.dto.OrderItemDto;
 import org.ezon.msa.dto.OrderRequestDto;
 import org.ezon.msa.dto.OrderResponseDto;
+import org.ezon.msa.dto.PageResponse;
+import org.ezon.msa.dto.ShipmentRequestDto;
+import org.ezon.msa.dto.StatusTransitionDto;
 import org.ezon.msa.entity.Claim;
 import org.ezon.msa.enums.ClaimType;
+import org.ezon.msa.exception.DuplicatePaymentException;
+import org.ezon.msa.exception.IllegalStatusTransitionException;
+import org.ezon.msa.service.BulkOrderItemService;
 import org.ezon.msa.service.OrderService;
+import org.ezon.msa.service.SellerCounterService;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,9 +47,14 @@ import jakarta.servlet.http.HttpServletRequest;
 public class OrderController {
 
 	private final OrderService orderService;
+	private final SellerCounterService sellerCounterService;
+	private final BulkOrderItemService bulkOrderItemService;
 
-	public OrderController(OrderService orderService) {
+	public OrderController(OrderService orderService, SellerCounterService sellerCounterService,
+			BulkOrderItemService bulkOrderItemService) {
 		this.orderService = orderService;
+		this.sellerCounterService = sellerCounterService;
+		this.bulkOrderItemService = bulkOrderItemService;
 	}
 	
 	// 1. 주문 생성
@@ -46,6 +63,14 @@ public class OrderController {
 		try {
 	        OrderResponseDto resp = orderService.createOrder(req);
 	        return ResponseEntity.ok(resp);
+	    } catch (DuplicatePaymentException e) {
+	    	// 같은 결제로 동시에 들어온 요청 : 먼저 생성된 주문을 그대로 돌려줌
+	    	OrderResponseDto resp = orderService.getOrderResponseByPaymentId(e.getPaymentId());
+	    	if (resp != null) {
+	    		return ResponseEntity.ok(resp);
+	    	}
+	    	e.printStackTrace();
+	    	return ResponseEntity.status(500).body(null);
 	    } catch (Exception e) {
 	        e.printStackTrace();
 	        // 로그 파일이나 콘솔에 반드시 에러 메시지가 남게 함
@@ -74,8 +99,7 @@ public class OrderController {
     @GetMapping("/users/count")
     public ResponseEntity<Map<String, Integer>> getUserOrdersCount(
     		@RequestParam Long userId) {
-    	List<OrderDetailDto> temp = orderService.getUserOrders(userId, null,null,null,null);
-    	Map<String, Integer> result = orderService.getTotalCount(temp);
+    	Map<String, Integer> result = orderService.getUserOrdersCount(userId);
     	
         return ResponseEntity.ok(result);
     }
@@ -95,7 +119,12 @@ public class OrderController {
     // 6. (구매자) 주문 취소/환불/반품 요청 (orderItemId 단위)
     @PutMapping("/items/{orderItemId}/claims")
     public ResponseEntity<Void> claimOrderItem(@PathVariable Long orderItemId, @RequestBody ClaimRequestDto req) {
-        orderService.claimOrder(orderItemId, req);
+        try {
+        	orderService.claimOrder(orderItemId, req);
+        } catch (IllegalStatusTransitionException e) {
+        	System.out.println(e.getMessage());
+        	return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -120,20 +149,40 @@ public class OrderController {
     	}
     	result.put("message", "load success");
     	result.put("orderList", Pagination.paging(orderItemList, perPage, page));
-    	result.put("statusCount", orderService.orderItemGetAllStatus(orderItemList));
+    	result.put("statusCount", sellerCounterService.getItemStatusCount(sellerId));
     	result.put("totalPage", Pagination.totalPage(orderItemList,perPage));
     	return ResponseEntity.ok(result);
     }
+    // 8-1. (판매자) 판매자별 판매 내역 (커서 페이지네이션)
+    @GetMapping("/sellers/{sellerId}/cursor")
+    public ResponseEntity<PageResponse<OrderItemDto>> getSellerOrderHistoryByCursor(@PathVariable Long sellerId,
+    	@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+    	try {
+    		return ResponseEntity.ok(orderService.getSellerOrdersByCursor(sellerId, cursor, size));
+    	} catch (IllegalArgumentException e) {
+    		return ResponseEntity.badRequest().build();
+    	}
+    }
  // 13. (관리자) 거래내역 내역
     @GetMapping("/users/orderList")
     public ResponseEntity<Map<String,Object>> getUserOrderListAdmin(
     	@RequestParam int page) {
     	Map<String, Object> result = new HashMap<>();
-    	List<OrderDetailDto> temp = orderService.getAll();
-    	result.put("orderList",Pagination.paging(temp, page));
-    	result.put("totalPage", Pagination.totalPage(temp));
+    	Page<OrderDetailDto> temp = orderService.getAll(page, Pagination.PER_PAGE);
+    	result.put("orderList", temp.getContent());
+    	result.put("totalPage", temp.getTotalPages());
         return ResponseEntity.ok(result);
     }
+ // 13-1. (관리자) 거래내역 내역 (커서 페이지네이션)
+    @GetMapping("/users/orderList/cursor")
+    public ResponseEntity<PageResponse<OrderDetailDto>> getUserOrderListAdminByCursor(
+    	@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+    	try {
+    		return ResponseEntity.ok(orderService.getAllByCursor(cursor, size));
+    	} catch (IllegalArgumentException e) {
+    		return ResponseEntity.badRequest().build();
+    	}
+    }
  // 14. (판매자) 거래 상세 내역 상태 변경 및 배송 추가
     @PostMapping("/orderItem/{oiId}/seller")
     public ResponseEntity<Map<String, String>> updateOrderItemStatus(
@@ -164,6 +213,57 @@ public class OrderController {
 			return ResponseEntity.status(500).body(result);
 		}
     }
+    // 14-1. (판매자) 거래 상세 내역 일괄 상태 변경 (상세 내역별 결과 반환)
+    @PutMapping("/orderItems/seller")
+    public ResponseEntity<Map<String, Object>> changeOrderItemStatusBulk(@RequestBody BulkTransitionRequestDto req) {
+    	Map<String, Object> result = new HashMap<>();
+    	try {
+    		List<StatusTransitionDto> results = bulkOrderItemService.transition(
+    				req.getSellerId(), req.getOrderItemIds(), req.getEvent());
+    		long applied = results.stream().filter(StatusTransitionDto::isApplied).count();
+    		result.put("message", applied == results.size() ? "process success" : "partial success");
+    		result.put("appliedCount", applied);
+    		result.put("results", results);
+    		return ResponseEntity.ok(result);
+    	} catch (IllegalArgumentException e) {
+    		result.put("message", e.getMessage());
+    		return ResponseEntity.badRequest().body(result);
+    	}
+    }
+
+    // 14-2. (판매자) 송장 일괄 등록 (결제완료 -> 배송준비, 배송 등록은 묶어서 전송)
+    @PostMapping(value = "/orderItems/seller/shipments", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> registerShipments(@RequestBody BulkShipmentRequestDto req) {
+    	return registerShipments(req.getSellerId(), req.getShipments());
+    }
+
+    // 14-2. 택배사 CSV 업로드 ("orderItemId,trackingNumber" 한 줄에 한 건)
+    @PostMapping(value = "/orderItems/seller/shipments", consumes = "text/csv")
+    public ResponseEntity<Map<String, Object>> registerShipmentsCsv(@RequestParam Long sellerId, @RequestBody String csv) {
+    	try {
+    		return registerShipments(sellerId, BulkOrderItemService.parseShipments(csv));
+    	} catch (IllegalArgumentException e) {
+    		Map<String, Object> result = new HashMap<>();
+    		result.put("message", e.getMessage());
+    		return ResponseEntity.badRequest().body(result);
+    	}
+    }
+
+    private ResponseEntity<Map<String, Object>> registerShipments(Long sellerId, List<ShipmentRequestDto> shipments) {
+    	Map<String, Object> result = new HashMap<>();
+    	try {
+    		List<StatusTransitionDto> results = bulkOrderItemService.registerShipments(sellerId, shipments);
+    		long applied = results.stream().filter(StatusTransitionDto::isApplied).count();
+    		result.put("message", applied == results.size() ? "process success" : "partial success");
+    		result.put("appliedCount", applied);
+    		result.put("results", results);
+    		return ResponseEntity.ok(result);
+    	} catch (IllegalArgumentException e) {
+    		result.put("message", e.getMessage());
+    		return ResponseEntity.badRequest().body(result);
+    	}
+    }
+
     // 15. 주문 내역 상태 변경
     @DeleteMapping("/orderItem/{oiId}/seller")
     public ResponseEntity<Map<String, String>> OrderItemCancel(@PathVariable Long oiId,
@@ -185,12 +285,12 @@ public class OrderController {
   		@RequestParam String type){
   		Map<String, Object> result = new HashMap<String, Object>();
   		try {
-  			List<ClaimDto> claimList =
-  				orderService.claimFindBy(userId,ClaimType.valueOf(type));
+  			Page<ClaimDto> claimList =
+  				orderService.claimFindBy(userId, ClaimType.valueOf(type), page, perPage);
   			if(claimList != null) {
-  				result.put("claimList", Pagination.paging(claimList, perPage, page));
-  		    	result.put("statusCount", orderService.claimGetAllStatus(claimList));
-  				result.put("totalPage", Pagination.totalPage(claimList, perPage));
+  				result.put("claimList", claimList.getContent());
+  		    	result.put("statusCount", sellerCounterService.getClaimStatusCount(userId, ClaimType.valueOf(type)));
+  				result.put("totalPage", claimList.getTotalPages());
   				result.put("message", "load success");
   			}else {
   				result.put("message", "load fail");
@@ -204,6 +304,18 @@ public class OrderController {
   		return ResponseEntity.ok(result);
   	}
   	
+  	// 16-1. 환불 내역 목록 불러오기 (커서 페이지네이션)
+  	@GetMapping("/claims/seller/{userId}/cursor")
+  	public ResponseEntity<PageResponse<ClaimDto>> getRefundsByCursor(@PathVariable Long userId,
+  		@RequestParam String type, @RequestParam(required = false) String cursor,
+  		@RequestParam(defaultValue = "10") int size){
+  		try {
+  			return ResponseEntity.ok(orderService.claimFindByCursor(userId, ClaimType.valueOf(type), cursor, size));
+  		} catch (IllegalArgumentException e) {
+  			return ResponseEntity.badRequest().build();
+  		}
+  	}
+  	
   	// 17. 환불 승인/거부
   	@RequestMapping(value = "/claims/{refundId}/seller",
   		method = {RequestMethod.DELETE,RequestMethod.PUT})
@@ -234,7 +346,12 @@ public class OrderController {
   	// Review관련 로직
     @PutMapping("/items/{orderItemId}/confirm")
     public ResponseEntity<Void> confirmPurchase(@PathVariable Long orderItemId) {
-        orderService.confirmPurchase(orderItemId);
+        try {
+        	orderService.confirmPurchase(orderItemId);
+        } catch (IllegalStatusTransitionException e) {
+        	System.out.println(e.getMessage());
+        	return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.ok().build();
     }
     
@@ -0,0 +1,18 @@
+package org.ezon.msa.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// (판매자) 송장 일괄 등록 요청
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkShipmentRequestDto {
+	private Long sellerId;				// 필수, 다른 판매자(또는 판매자 확인 전)의 상세 내역은 등록하지 않음
+	private List<ShipmentRequestDto> shipments;
+}
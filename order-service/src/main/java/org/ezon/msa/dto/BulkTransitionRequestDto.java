@@ -0,0 +1,21 @@
+package org.ezon.msa.dto;
+
+import java.util.List;
+
+import org.ezon.msa.enums.OrderEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// (판매자) 여러 상세 내역에 같은 상태 변경 요청
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransitionRequestDto {
+	private Long sellerId;				// 필수, 다른 판매자(또는 판매자 확인 전)의 상세 내역은 변경하지 않음
+	private List<Long> orderItemIds;
+	private OrderEvent event;			// ADVANCE, CANCEL_SOLD_OUT, CANCEL_NO_DELIVERY
+}
@@ -0,0 +1,29 @@
+package org.ezon.msa.dto;
+
+import java.time.LocalDateTime;
+
+import org.ezon.msa.enums.ClaimStatus;
+import org.ezon.msa.enums.ClaimType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 클레임 내역 내보내기 한 줄 (claim + order_item)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimExportDto {
+	private Long claimId;
+	private Long orderItemId;
+	private String orderedNum;
+	private Long buyerId;
+	private Long sellerId;
+	private String productName;
+	private int amount;
+	private ClaimType type;
+	private ClaimStatus status;
+	private String reason;
+	private LocalDateTime claimedAt;
+	private LocalDateTime processedAt;
+}
@@ -8,8 +8,8 @@ import lombok.Data;
 
 @Data
 public class DeliveryResponseDto {
-	private int deliveryId;
-	private int orderItemId;
+	private Long deliveryId;
+	private Long orderItemId;
 	@Enumerated(EnumType.STRING)
 	private DeliveryStatus status;
 }
@@ -0,0 +1,30 @@
+package org.ezon.msa.dto;
+
+import java.time.LocalDateTime;
+
+import org.ezon.msa.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 주문 내역 내보내기 한 줄 (order_item + order)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemExportDto {
+	private Long orderItemId;
+	private String orderedNum;
+	private LocalDateTime orderedAt;
+	private Long buyerId;
+	private Long sellerId;
+	private Long productId;
+	private String productName;
+	private int quantity;
+	private int price;
+	private int discountPrice;
+	private int shippingFee;
+	private int totalAmount;
+	private OrderStatus status;
+	private Long deliveryId;
+}
@@ -1,5 +1,19 @@
 package org.ezon.msa.dto;
 
-public class PageResponse {
+import java.util.List;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 커서(keyset) 페이지네이션 응답 : nextCursor를 다음 요청의 cursor로 그대로 넘기면 된다
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+	private List<T> items;
+	private String nextCursor;
+	private boolean hasNext;
 }
@@ -0,0 +1,16 @@
+package org.ezon.msa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 송장 등록 한 건 (상세 내역, 송장 번호)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShipmentRequestDto {
+	private Long orderItemId;
+	private String trackingNumber;
+}
@@ -0,0 +1,23 @@
+package org.ezon.msa.dto;
+
+import org.ezon.msa.enums.OrderEvent;
+import org.ezon.msa.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 상세 내역 한 건의 상태 변경 결과
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusTransitionDto {
+	private Long orderItemId;
+	private OrderEvent event;
+	private OrderStatus from;
+	private OrderStatus to;
+	private boolean applied;
+	private String message;
+}
@@ -2,6 +2,7 @@ package org.ezon.msa.entity;
 
 import java.time.LocalDateTime;
 
+import org.ezon.msa.config.IdSequenceInitializer;
 import org.ezon.msa.enums.ClaimStatus;
 import org.ezon.msa.enums.ClaimType;
 
@@ -12,6 +13,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,11 +26,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "claim")
+@Table(name = "claim", indexes = {
+	@Index(name = "idx_claim_type_claimed_at", columnList = "type, claimed_at, claim_id"),
+	@Index(name = "idx_claim_item_type_status", columnList = "order_item_id, type, status, claimed_at")
+})
 public class Claim {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_id_gen")
+	// id를 여러 개씩 미리 할당받아 INSERT를 배치로 실행 (MySQL에서는 claim_seq 테이블로 동작)
+	@SequenceGenerator(name = "claim_id_gen", sequenceName = "claim_seq", allocationSize = IdSequenceInitializer.ALLOCATION_SIZE)
 	@Column(name = "claim_id")
 	private Long claimId;
 	
@@ -9,7 +9,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,8 +22,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "`order`")
+@Table(name = "`order`", indexes = {
+	@Index(name = "idx_order_ordered_at", columnList = "ordered_at, ordered_num"),
+	@Index(name = "idx_order_user_ordered_at", columnList = "user_id, ordered_at")
+}, uniqueConstraints = {
+	// 같은 결제로 주문이 두 번 생성되지 않도록 (위반 시 이름으로 중복 결제를 구분)
+	@UniqueConstraint(name = Order.PAYMENT_ID_CONSTRAINT, columnNames = "payment_id")
+})
 public class Order {
+
+	public static final String PAYMENT_ID_CONSTRAINT = "uk_order_payment_id";
 	
 	@Id
 	@Column(name = "ordered_num", nullable = false, length = 50)
@@ -30,7 +40,7 @@ public class Order {
 	@Column(name = "user_id", nullable = false)
     private Long userId;
 
-    @Column(unique = true, name = "payment_id", nullable = false)
+    @Column(name = "payment_id", nullable = false)
     private Long paymentId;
     
     @Column(name = "address_id", nullable = false)
@@ -1,5 +1,8 @@
 package org.ezon.msa.entity;
 
+import java.time.LocalDateTime;
+
+import org.ezon.msa.config.IdSequenceInitializer;
 import org.ezon.msa.enums.OrderStatus;
 
 import jakarta.persistence.Column;
@@ -9,6 +12,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,11 +25,17 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "order_item")
+@Table(name = "order_item", indexes = {
+	@Index(name = "idx_order_item_ordered_num", columnList = "ordered_num"),
+	@Index(name = "idx_order_item_product_status", columnList = "product_id, status"),
+	@Index(name = "idx_order_item_seller", columnList = "seller_id, status, ordered_at")
+})
 public class OrderItem {
 	
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id_gen")
+    // id를 여러 개씩 미리 할당받아 INSERT를 배치로 실행 (MySQL에서는 order_item_seq 테이블로 동작)
+    @SequenceGenerator(name = "order_item_id_gen", sequenceName = "order_item_seq", allocationSize = IdSequenceInitializer.ALLOCATION_SIZE)
     @Column(name = "order_item_id")
     private Long orderItemId;
 
@@ -36,6 +47,17 @@ public class OrderItem {
     
     @Column(name = "user_id", nullable = false)
     private Long userId;
+    
+    // 판매자 화면 조회용 (주문 생성 시 저장, 기존 데이터는 SellerIdBackfillJob이 채움)
+    @Column(name = "seller_id")
+    private Long sellerId;
+    
+    @Column(name = "ordered_at")
+    private LocalDateTime orderedAt;
+    
+    // 배송 등록 응답으로 받은 배송 id (배송 상태 변경 시 사용)
+    @Column(name = "delivery_id")
+    private Long deliveryId;
 
     @Column(name = "quantity", nullable = false)
     private int quantity;
@@ -0,0 +1,79 @@
+package org.ezon.msa.entity;
+
+import java.time.LocalDateTime;
+
+import org.ezon.msa.config.IdSequenceInitializer;
+import org.ezon.msa.enums.OutboxStatus;
+import org.ezon.msa.enums.OutboxType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 외부 서비스 호출 요청 (업무 데이터와 같은 트랜잭션에서 저장하고 OutboxRelay가 나중에 전송)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_message", indexes = {
+	@Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at, outbox_id"),
+	@Index(name = "idx_outbox_aggregate_key", columnList = "aggregate_key, status, created_at")
+})
+public class OutboxMessage {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_id_gen")
+	@SequenceGenerator(name = "outbox_id_gen", sequenceName = "outbox_message_seq", allocationSize = IdSequenceInitializer.ALLOCATION_SIZE)
+	@Column(name = "outbox_id")
+	private Long outboxId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "type", nullable = false, length = 30)
+	private OutboxType type;
+
+	// 순서 유지/추적용 키 (주문번호, seller:{sellerId}, orderItemId 등)
+	@Column(name = "aggregate_key", length = 50)
+	private String aggregateKey;
+
+	@Column(name = "http_method", nullable = false, length = 10)
+	private String httpMethod;
+
+	@Column(name = "url", nullable = false, length = 500)
+	private String url;
+
+	@Lob
+	@Column(name = "payload", columnDefinition = "TEXT")
+	private String payload;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 20)
+	private OutboxStatus status;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "sent_at")
+	private LocalDateTime sentAt;
+}
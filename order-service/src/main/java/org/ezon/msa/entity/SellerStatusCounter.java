@@ -0,0 +1,44 @@
+package org.ezon.msa.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 판매자별 주문 상세/클레임 상태 개수 (상태가 바뀔 때마다 같은 트랜잭션에서 증감)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "seller_status_counter")
+@IdClass(SellerStatusCounter.Key.class)
+public class SellerStatusCounter {
+	
+	@Id
+	@Column(name = "seller_id", nullable = false)
+	private Long sellerId;
+	
+	@Id
+	@Column(name = "counter_key", nullable = false, length = 50)
+	private String counterKey;	// ITEM_{OrderStatus} 또는 CLAIM_{ClaimType}_{ClaimStatus}
+	
+	@Column(name = "status_count", nullable = false)
+	private long count;
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private Long sellerId;
+		private String counterKey;
+	}
+}
@@ -0,0 +1,7 @@
+package org.ezon.msa.enums;
+
+// 클레임 상태를 바꾸는 이벤트
+public enum ClaimEvent {
+	APPROVE,		// 승인
+	REJECT;			// 반려
+}
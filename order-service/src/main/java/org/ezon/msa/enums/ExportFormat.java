@@ -0,0 +1,6 @@
+package org.ezon.msa.enums;
+
+public enum ExportFormat {
+	CSV,		// 머리글 + 한 줄에 한 건 (엑셀용 UTF-8 BOM 포함)
+	NDJSON		// 한 줄에 JSON 한 건
+}
@@ -0,0 +1,37 @@
+package org.ezon.msa.enums;
+
+// 상세 내역 상태를 바꾸는 이벤트 (허용되는 상태 변경은 OrderStateMachine 표 참고)
+public enum OrderEvent {
+	ADVANCE,				// 판매자 다음 단계 진행 (결제완료 -> 배송준비 -> 배송중 -> 배송완료 -> 구매확정)
+	CANCEL_SOLD_OUT,		// 판매자 취소 (일시 품절)
+	CANCEL_NO_DELIVERY,		// 판매자 취소 (배송 불가)
+	
+	REQUEST_CANCEL,			// 구매자 취소 요청
+	REQUEST_REFUND,			// 구매자 환불 요청
+	REQUEST_EXCHANGE,		// 구매자 교환 요청
+	
+	APPROVE_REFUND,			// 판매자 환불 승인
+	REJECT_REFUND,			// 판매자 환불 반려
+	APPROVE_EXCHANGE,		// 판매자 교환 승인
+	REJECT_EXCHANGE,		// 판매자 교환 반려
+	
+	CONFIRM_PURCHASE;		// 구매자 구매확정
+	
+	public static OrderEvent requestOf(ClaimType type) {
+		return switch (type) {
+			case CANCEL -> REQUEST_CANCEL;
+			case REFUND -> REQUEST_REFUND;
+			case EXCHANGE -> REQUEST_EXCHANGE;
+		};
+	}
+	
+	// 클레임 처리에 따른 상세 내역 이벤트 (취소는 요청 시점에 이미 CANCELLED 이므로 없음)
+	public static OrderEvent resolveOf(ClaimType type, ClaimEvent event) {
+		boolean approve = event == ClaimEvent.APPROVE;
+		return switch (type) {
+			case REFUND -> approve ? APPROVE_REFUND : REJECT_REFUND;
+			case EXCHANGE -> approve ? APPROVE_EXCHANGE : REJECT_EXCHANGE;
+			case CANCEL -> null;
+		};
+	}
+}
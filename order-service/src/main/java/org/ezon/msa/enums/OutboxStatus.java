@@ -0,0 +1,8 @@
+package org.ezon.msa.enums;
+
+public enum OutboxStatus {
+	PENDING,	// 전송 대기 (재시도 포함)
+	SENT,		// 전송 완료
+	FAILED,		// 재시도 횟수 초과 (운영자 확인 필요, 같은 키의 다음 메시지는 대기)
+	DEAD		// 재시도해도 실패하는 요청 (4xx 등), 같은 키의 다음 메시지를 막지 않음
+}
@@ -0,0 +1,11 @@
+package org.ezon.msa.enums;
+
+public enum OutboxType {
+	PAYMENT_ORDER_NUM,		// 결제서비스 주문번호 등록
+	DELIVERY_REGISTER,		// 배송 등록
+	DELIVERY_REGISTER_BATCH,	// 배송 일괄 등록 (판매자 송장 일괄 등록)
+	DELIVERY_STATUS,		// 배송 상태 변경
+	DELIVERY_STATUS_BATCH,	// 배송 상태 일괄 변경 (판매자 일괄 처리)
+	COMPENSATE_ADDRESS,		// 주문 실패 보상 : 배송지 삭제
+	COMPENSATE_PAYMENT		// 주문 실패 보상 : 결제 취소
+}
@@ -0,0 +1,17 @@
+package org.ezon.msa.event;
+
+import java.time.LocalDateTime;
+
+import org.ezon.msa.enums.ClaimStatus;
+import org.ezon.msa.enums.ClaimType;
+
+// 판매자 클레임 승인/반려
+public record ClaimProcessedEvent(
+		Long claimId,
+		Long orderItemId,
+		String orderedNum,
+		ClaimType type,
+		ClaimStatus from,
+		ClaimStatus to,
+		LocalDateTime occurredAt) implements OrderDomainEvent {
+}
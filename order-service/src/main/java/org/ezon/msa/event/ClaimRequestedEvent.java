@@ -0,0 +1,15 @@
+package org.ezon.msa.event;
+
+import java.time.LocalDateTime;
+
+import org.ezon.msa.enums.ClaimType;
+
+// 구매자 취소/환불/교환 요청
+public record ClaimRequestedEvent(
+		Long claimId,
+		Long orderItemId,
+		String orderedNum,
+		Long userId,
+		ClaimType type,
+		LocalDateTime occurredAt) implements OrderDomainEvent {
+}
@@ -0,0 +1,102 @@
+package org.ezon.msa.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기가 고정된 lock-free 링 버퍼 (여러 발행 스레드 / 여러 소비 스레드).
+ * 칸마다 순번을 두고 CAS로 자리를 잡으며, 가득 차면 기다리지 않고 offer가 false를 돌려준다.
+ */
+final class EventRingBuffer<T> {
+
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<T> slots;
+	// 칸의 순번 : pos 이면 pos 번째 발행을 받을 수 있음, pos + 1 이면 pos 번째 값이 들어 있음
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	EventRingBuffer(int requestedCapacity) {
+		// 위치 계산을 나머지 대신 비트 연산으로 하기 위해 2의 거듭제곱으로 올림
+		int cap = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+		this.capacity = cap;
+		this.mask = cap - 1;
+		this.slots = new AtomicReferenceArray<>(cap);
+		this.sequences = new AtomicLongArray(cap);
+		for (int i = 0; i < cap; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	boolean offer(T value) {
+		long pos = tail.get();
+		for (;;) {
+			int index = (int) pos & mask;
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					slots.lazySet(index, value);
+					// 값을 쓴 뒤 순번을 올려야 소비 쪽에서 보임
+					sequences.set(index, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			} else if (diff < 0) {
+				// 한 바퀴 전 값을 아직 소비하지 않음 = 가득 참
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+	}
+
+	// 비어 있으면 null
+	T poll() {
+		long pos = head.get();
+		for (;;) {
+			int index = (int) pos & mask;
+			long diff = sequences.get(index) - (pos + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					T value = slots.get(index);
+					slots.lazySet(index, null);
+					// 다음 바퀴의 발행이 쓸 수 있도록
+					sequences.set(index, pos + capacity);
+					return value;
+				}
+				pos = head.get();
+			} else if (diff < 0) {
+				return null;
+			} else {
+				pos = head.get();
+			}
+		}
+	}
+
+	// 최대 max 건을 꺼내 out에 추가하고 꺼낸 건수를 돌려준다
+	int drainTo(List<T> out, int max) {
+		int count = 0;
+		while (count < max) {
+			T value = poll();
+			if (value == null) {
+				break;
+			}
+			out.add(value);
+			count++;
+		}
+		return count;
+	}
+
+	// 동시에 발행/소비 중이면 근사값
+	int size() {
+		long size = tail.get() - head.get();
+		return (int) Math.max(0, Math.min(size, capacity));
+	}
+
+	int capacity() {
+		return capacity;
+	}
+}
@@ -0,0 +1,21 @@
+package org.ezon.msa.event;
+
+import java.time.LocalDateTime;
+
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.enums.OrderStatus;
+
+// 상세 내역 상태 변경 (판매자 진행/취소, 클레임 요청/처리, 구매확정)
+public record ItemStatusChangedEvent(
+		Long orderItemId,
+		String orderedNum,
+		Long sellerId,
+		OrderStatus from,
+		OrderStatus to,
+		LocalDateTime occurredAt) implements OrderDomainEvent {
+
+	public static ItemStatusChangedEvent of(OrderItem item, OrderStatus from, OrderStatus to, LocalDateTime occurredAt) {
+		return new ItemStatusChangedEvent(item.getOrderItemId(), item.getOrderedNum(), item.getSellerId(), from, to,
+				occurredAt);
+	}
+}
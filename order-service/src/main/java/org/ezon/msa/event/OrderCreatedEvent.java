@@ -0,0 +1,14 @@
+package org.ezon.msa.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 주문 생성 (상세 내역은 모두 결제완료 상태)
+public record OrderCreatedEvent(
+		String orderedNum,
+		Long userId,
+		Long paymentId,
+		int totalAmount,
+		List<Long> orderItemIds,
+		LocalDateTime occurredAt) implements OrderDomainEvent {
+}
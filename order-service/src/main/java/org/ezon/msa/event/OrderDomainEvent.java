@@ -0,0 +1,12 @@
+package org.ezon.msa.event;
+
+import java.time.LocalDateTime;
+
+// 주문 도메인 이벤트 : 커밋된 변경만 OrderEventBus로 발행된다
+public sealed interface OrderDomainEvent
+		permits OrderCreatedEvent, ItemStatusChangedEvent, ClaimRequestedEvent, ClaimProcessedEvent {
+
+	String orderedNum();
+
+	LocalDateTime occurredAt();
+}
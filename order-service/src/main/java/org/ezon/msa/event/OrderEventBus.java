@@ -0,0 +1,293 @@
+package org.ezon.msa.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 프로세스 안 주문 도메인 이벤트 버스.
+ * 트랜잭션이 커밋된 뒤에 이벤트를 링 버퍼에 넣고, 소비 스레드가 batchSize 단위로 꺼내 OrderEventListener에 전달한다.
+ * 버퍼가 가득 차면 offerTimeout 동안만 다시 시도하고 버린다 (요청 스레드를 붙잡지 않음, droppedCount로 확인).
+ * 소비 스레드가 1개일 때만 발행 순서대로 전달된다.
+ * 버퍼가 비면 소비 스레드는 잠들고, 발행 쪽이 잠든 소비 스레드가 있을 때만 깨운다.
+ * 구독자가 없으면 소비 스레드를 띄우지 않고 발행도 하지 않는다.
+ */
+@Component
+public class OrderEventBus {
+
+	private static final Object PENDING_RESOURCE_KEY = new Object();
+	private static final long OFFER_RETRY_NANOS = 50_000;
+
+	// 구독자가 주문 서비스 빈을 주입받아도 순환 참조가 생기지 않도록 기동이 끝난 뒤 조회
+	@Autowired
+	private ObjectProvider<OrderEventListener> listenerProvider;
+
+	private volatile List<OrderEventListener> listeners = List.of();
+
+	@Value("${order.events.enabled:true}")
+	private boolean enabled;
+
+	@Value("${order.events.capacity:8192}")
+	private int capacity;
+
+	@Value("${order.events.batchSize:256}")
+	private int batchSize;
+
+	@Value("${order.events.consumers:1}")
+	private int consumerCount;
+
+	// 버퍼가 비었을 때 소비 스레드가 잠드는 최대 시간 (발행되면 바로 깨어나므로 깨우기를 놓친 경우의 안전장치)
+	@Value("${order.events.idleWait:1s}")
+	private Duration idleWait;
+
+	// 버퍼가 가득 찼을 때 발행 쪽이 다시 시도하는 최대 시간 (0이면 바로 버림)
+	@Value("${order.events.offerTimeout:2ms}")
+	private Duration offerTimeout;
+
+	// 구독자가 없으면 기동 후 null (발행하지 않음)
+	private volatile EventRingBuffer<Envelope> ring;
+	private volatile List<Thread> consumers = List.of();
+	private volatile boolean running;
+	// 버퍼가 비어 잠든 소비 스레드 수 (0이면 발행 쪽은 깨우지 않음)
+	private final AtomicInteger parkedConsumers = new AtomicInteger();
+
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong bufferFull = new AtomicLong();
+	private final AtomicLong consumed = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong maxBatchSize = new AtomicLong();
+	private final AtomicLong highWaterMark = new AtomicLong();
+	private final AtomicLong totalQueueNanos = new AtomicLong();
+	private final AtomicLong maxQueueNanos = new AtomicLong();
+	private final AtomicLong listenerErrors = new AtomicLong();
+	private final Map<String, AtomicLong> publishedByType = new ConcurrentHashMap<>();
+
+	// 버퍼 대기 시간 측정용
+	private record Envelope(OrderDomainEvent event, long enqueuedAt) {
+	}
+
+	@PostConstruct
+	void init() {
+		if (enabled) {
+			ring = new EventRingBuffer<>(capacity);
+		}
+	}
+
+	// 기동 중에 발행된 이벤트는 버퍼에 남아 있다가 소비 스레드가 시작되면 전달됨
+	@EventListener(ApplicationReadyEvent.class)
+	void start() {
+		if (ring == null || running) {
+			return;
+		}
+		listeners = listenerProvider.orderedStream().toList();
+		if (listeners.isEmpty()) {
+			// 전달할 곳이 없음 : 기동 중에 쌓인 이벤트는 버리고 이후 발행도 하지 않음
+			System.out.println("[주문 이벤트 버스] 구독자 없음, 소비 스레드를 시작하지 않음 (기동 중 이벤트 "
+					+ ring.size() + "건 버림)");
+			ring = null;
+			return;
+		}
+		running = true;
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < Math.max(1, consumerCount); i++) {
+			Thread thread = new Thread(this::consume, "order-event-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+		}
+		consumers = List.copyOf(threads);
+		threads.forEach(Thread::start);
+		System.out.println("[주문 이벤트 버스] 시작 : capacity " + ring.capacity() + ", 소비 스레드 " + consumers.size()
+				+ ", 구독자 " + listeners.size());
+	}
+
+	// 종료 시 남은 이벤트는 현재 스레드에서 모두 전달
+	@PreDestroy
+	void stop() {
+		EventRingBuffer<Envelope> ring = this.ring;
+		if (ring == null) {
+			return;
+		}
+		running = false;
+		for (Thread thread : consumers) {
+			LockSupport.unpark(thread);
+			try {
+				thread.join(5000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		List<Envelope> batch = new ArrayList<>(batchSize);
+		while (ring.drainTo(batch, batchSize) > 0) {
+			dispatch(batch);
+			batch.clear();
+		}
+	}
+
+	public void publishAfterCommit(OrderDomainEvent event) {
+		publishAfterCommit(List.of(event));
+	}
+
+	/**
+	 * 트랜잭션 안이면 커밋 후에 발행 순서대로 버퍼에 넣는다 (롤백되면 버림).
+	 * 트랜잭션 밖이면 바로 넣는다.
+	 */
+	@SuppressWarnings("unchecked")
+	public void publishAfterCommit(Collection<? extends OrderDomainEvent> events) {
+		if (ring == null || events.isEmpty()) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			events.forEach(this::publish);
+			return;
+		}
+		List<OrderDomainEvent> pending = (List<OrderDomainEvent>) TransactionSynchronizationManager
+				.getResource(PENDING_RESOURCE_KEY);
+		if (pending == null) {
+			List<OrderDomainEvent> list = new ArrayList<>();
+			TransactionSynchronizationManager.bindResource(PENDING_RESOURCE_KEY, list);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					list.forEach(OrderEventBus.this::publish);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_RESOURCE_KEY);
+				}
+			});
+			pending = list;
+		}
+		pending.addAll(events);
+	}
+
+	private void publish(OrderDomainEvent event) {
+		EventRingBuffer<Envelope> ring = this.ring;
+		if (ring == null || event == null) {
+			return;
+		}
+		if (!offer(ring, new Envelope(event, System.nanoTime()))) {
+			// 구독자가 따라오지 못함 : 요청 처리를 늦추지 않도록 버림
+			if (dropped.incrementAndGet() % 1000 == 1) {
+				System.out.println("[주문 이벤트 버스] 버퍼 가득 참, 이벤트 버림 (누적 " + dropped.get() + "건) : "
+						+ event.getClass().getSimpleName() + " " + event.orderedNum());
+			}
+			return;
+		}
+		published.incrementAndGet();
+		publishedByType.computeIfAbsent(event.getClass().getSimpleName(), k -> new AtomicLong()).incrementAndGet();
+		highWaterMark.accumulateAndGet(ring.size(), Math::max);
+		// 버퍼에 넣은 뒤 확인해야 잠들기 직전의 소비 스레드를 놓치지 않음 (소비 쪽은 잠들기 전에 버퍼를 다시 확인)
+		if (parkedConsumers.get() > 0) {
+			consumers.forEach(LockSupport::unpark);
+		}
+	}
+
+	private boolean offer(EventRingBuffer<Envelope> ring, Envelope envelope) {
+		if (ring.offer(envelope)) {
+			return true;
+		}
+		bufferFull.incrementAndGet();
+		long deadline = System.nanoTime() + offerTimeout.toNanos();
+		while (System.nanoTime() < deadline) {
+			LockSupport.parkNanos(OFFER_RETRY_NANOS);
+			if (ring.offer(envelope)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void consume() {
+		EventRingBuffer<Envelope> ring = this.ring;
+		List<Envelope> batch = new ArrayList<>(batchSize);
+		long idleNanos = Math.max(1, idleWait.toNanos());
+		while (running) {
+			if (ring.drainTo(batch, batchSize) == 0) {
+				parkedConsumers.incrementAndGet();
+				try {
+					if (running && ring.size() == 0) {
+						LockSupport.parkNanos(this, idleNanos);
+					}
+				} finally {
+					parkedConsumers.decrementAndGet();
+				}
+				continue;
+			}
+			dispatch(batch);
+			batch.clear();
+		}
+	}
+
+	private void dispatch(List<Envelope> batch) {
+		long now = System.nanoTime();
+		List<OrderDomainEvent> events = new ArrayList<>(batch.size());
+		for (Envelope envelope : batch) {
+			long waited = now - envelope.enqueuedAt();
+			totalQueueNanos.addAndGet(waited);
+			maxQueueNanos.accumulateAndGet(waited, Math::max);
+			events.add(envelope.event());
+		}
+		List<OrderDomainEvent> view = List.copyOf(events);
+		for (OrderEventListener listener : listeners) {
+			try {
+				listener.onEvents(view);
+			} catch (Exception e) {
+				listenerErrors.incrementAndGet();
+				System.out.println("[주문 이벤트 버스] 구독자 처리 실패 : " + listener.getClass().getSimpleName()
+						+ ", " + view.size() + "건 : " + e.getMessage());
+			}
+		}
+		consumed.addAndGet(batch.size());
+		batches.incrementAndGet();
+		maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+	}
+
+	public Map<String, Object> stats() {
+		EventRingBuffer<Envelope> ring = this.ring;
+		Map<String, Object> result = new LinkedHashMap<>();
+		long consumedCount = consumed.get();
+		long batchCount = batches.get();
+		result.put("enabled", enabled);
+		result.put("capacity", ring == null ? 0 : ring.capacity());
+		result.put("consumers", consumers.size());
+		result.put("listeners", listeners.stream().map(l -> l.getClass().getSimpleName()).toList());
+		// 아직 전달하지 않은 이벤트 수 (계속 capacity에 가까우면 구독자 처리가 느린 것)
+		result.put("pending", ring == null ? 0 : ring.size());
+		result.put("highWaterMark", highWaterMark.get());
+		result.put("publishedCount", published.get());
+		result.put("publishedByType", publishedByType.entrySet().stream()
+				.collect(LinkedHashMap::new, (m, e) -> m.put(e.getKey(), e.getValue().get()), Map::putAll));
+		result.put("bufferFullCount", bufferFull.get());
+		result.put("droppedCount", dropped.get());
+		result.put("consumedCount", consumedCount);
+		result.put("batchCount", batchCount);
+		result.put("avgBatchSize", batchCount == 0 ? 0.0 : (double) consumedCount / batchCount);
+		result.put("maxBatchSize", maxBatchSize.get());
+		result.put("avgQueueDelayMs", consumedCount == 0 ? 0.0 : totalQueueNanos.get() / 1_000_000.0 / consumedCount);
+		result.put("maxQueueDelayMs", maxQueueNanos.get() / 1_000_000.0);
+		result.put("listenerErrorCount", listenerErrors.get());
+		return result;
+	}
+}
@@ -0,0 +1,13 @@
+package org.ezon.msa.event;
+
+import java.util.List;
+
+/**
+ * OrderEventBus 구독자. 이 인터페이스를 구현한 빈은 자동으로 등록된다.
+ * 소비 스레드에서 모아진 이벤트를 발행 순서대로 받으며, 요청 스레드와 트랜잭션 밖에서 호출된다.
+ * 예외를 던져도 다른 구독자와 다음 묶음에는 영향이 없다 (해당 묶음은 다시 전달하지 않음).
+ */
+public interface OrderEventListener {
+
+	void onEvents(List<OrderDomainEvent> events);
+}
@@ -0,0 +1,19 @@
+package org.ezon.msa.exception;
+
+// 같은 paymentId로 이미 주문이 생성됨 (payment_id unique 제약 위반)
+// 주문 트랜잭션은 롤백되지만 보상(결제 취소) 대상이 아니다
+public class DuplicatePaymentException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Long paymentId;
+
+	public DuplicatePaymentException(Long paymentId, Throwable cause) {
+		super("이미 처리된 결제입니다. paymentId : " + paymentId, cause);
+		this.paymentId = paymentId;
+	}
+
+	public Long getPaymentId() {
+		return paymentId;
+	}
+}
@@ -0,0 +1,30 @@
+package org.ezon.msa.exception;
+
+// 현재 상태에서 허용되지 않는 상태 변경 (예: 환불 요청이 없는 상세 내역의 환불 승인)
+public class IllegalStatusTransitionException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Long targetId;
+	private final Enum<?> from;
+	private final Enum<?> event;
+
+	public IllegalStatusTransitionException(Long targetId, Enum<?> from, Enum<?> event) {
+		super("허용되지 않는 상태 변경입니다. id : " + targetId + ", 현재 상태 : " + from + ", 이벤트 : " + event);
+		this.targetId = targetId;
+		this.from = from;
+		this.event = event;
+	}
+
+	public Long getTargetId() {
+		return targetId;
+	}
+
+	public Enum<?> getFrom() {
+		return from;
+	}
+
+	public Enum<?> getEvent() {
+		return event;
+	}
+}
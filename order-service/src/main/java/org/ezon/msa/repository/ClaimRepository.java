@@ -1,13 +1,43 @@
 package org.ezon.msa.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.ezon.msa.dto.ClaimDto;
 import org.ezon.msa.entity.Claim;
 import org.ezon.msa.enums.ClaimType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
 	List<Claim> findByUserId(Long userId);
 
 	List<Claim> findByOrderItemIdAndType(Long orderItemId, ClaimType type);
+
+	// 판매자 클레임 목록 : order_item(seller_id)과 조인해 한 번에 조회 (페이지는 DB에서)
+	@Query(value = "select new org.ezon.msa.dto.ClaimDto(c.claimId, c.orderItemId, i.orderedNum, c.userId, "
+			+ "c.type, c.reason, i.totalAmount, c.status, c.claimedAt) "
+			+ "from Claim c join OrderItem i on i.orderItemId = c.orderItemId "
+			+ "where i.sellerId = :sellerId and c.type = :type",
+			countQuery = "select count(c) from Claim c join OrderItem i on i.orderItemId = c.orderItemId "
+			+ "where i.sellerId = :sellerId and c.type = :type")
+	Page<ClaimDto> findSellerClaims(@Param("sellerId") Long sellerId, @Param("type") ClaimType type, Pageable pageable);
+
+	// 커서 페이지네이션 (claimed_at, claim_id 내림차순)
+	@Query("select c from Claim c where c.type = :type and c.orderItemId in "
+			+ "(select i.orderItemId from OrderItem i where i.sellerId = :sellerId) "
+			+ "order by c.claimedAt desc, c.claimId desc")
+	List<Claim> findFirstBySeller(@Param("sellerId") Long sellerId,
+			@Param("type") ClaimType type, Pageable limit);
+
+	@Query("select c from Claim c where c.type = :type and c.orderItemId in "
+			+ "(select i.orderItemId from OrderItem i where i.sellerId = :sellerId) "
+			+ "and (c.claimedAt < :at or (c.claimedAt = :at and c.claimId < :claimId)) "
+			+ "order by c.claimedAt desc, c.claimId desc")
+	List<Claim> findNextBySeller(@Param("sellerId") Long sellerId,
+			@Param("type") ClaimType type, @Param("at") LocalDateTime at,
+			@Param("claimId") Long claimId, Pageable limit);
 }
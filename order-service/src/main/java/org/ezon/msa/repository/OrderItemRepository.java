@@ -1,16 +1,100 @@
 package org.ezon.msa.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.ezon.msa.entity.OrderItem;
 import org.ezon.msa.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+	// 상태별 개수 집계 결과
+	interface StatusCount {
+		OrderStatus getStatus();
+		long getCount();
+	}
+	
 	List<OrderItem> findByOrderedNum(String orderedNum);
+	List<OrderItem> findByOrderedNumIn(Collection<String> orderedNums);
 	List<OrderItem> findByUserId(Long sellerId);
 	List<OrderItem> findByUserIdAndStatus(Long userId, OrderStatus status);
 	List<OrderItem> findByProductId(Long productId);
+
+	// 구매자 주문 목록 : 기간(from 이상 to 미만), 상태, 상품명 조건을 DB에서 적용
+	@Query("select i from OrderItem i join Order o on o.orderedNum = i.orderedNum "
+			+ "where o.userId = :userId and i.status in :statuses "
+			+ "and (:from is null or o.orderedAt >= :from) and (:to is null or o.orderedAt < :to) "
+			+ "and (:productName is null or i.productName like concat('%', :productName, '%')) "
+			+ "order by o.orderedNum, i.orderItemId")
+	List<OrderItem> findBuyerItems(@Param("userId") Long userId, @Param("statuses") Collection<OrderStatus> statuses,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("productName") String productName);
+
+	// 판매자 상세 내역 (seller_id, status, ordered_at 인덱스 사용)
+	List<OrderItem> findBySellerIdOrderByOrderedAtDesc(Long sellerId);
+
+	// 처리할 상태(결제완료/배송준비/배송중)를 먼저, 그 안에서는 최근 주문 순
+	@Query("select i from OrderItem i where i.sellerId = :sellerId and i.status in :statuses "
+			+ "order by case when i.status in :completed then 1 else 0 end, i.orderedAt desc, i.orderItemId desc")
+	List<OrderItem> findSellerItemsByPriority(@Param("sellerId") Long sellerId,
+			@Param("statuses") Collection<OrderStatus> statuses, @Param("completed") Collection<OrderStatus> completed);
+
+	// 커서 페이지네이션 (주문일시, order_item_id 내림차순)
+	@Query("select i from OrderItem i where i.sellerId = :sellerId and i.status in :statuses "
+			+ "order by i.orderedAt desc, i.orderItemId desc")
+	List<OrderItem> findFirstBySeller(@Param("sellerId") Long sellerId,
+			@Param("statuses") Collection<OrderStatus> statuses, Pageable limit);
+
+	@Query("select i from OrderItem i where i.sellerId = :sellerId and i.status in :statuses "
+			+ "and (i.orderedAt < :at or (i.orderedAt = :at and i.orderItemId < :orderItemId)) "
+			+ "order by i.orderedAt desc, i.orderItemId desc")
+	List<OrderItem> findNextBySeller(@Param("sellerId") Long sellerId,
+			@Param("statuses") Collection<OrderStatus> statuses, @Param("at") LocalDateTime at,
+			@Param("orderItemId") Long orderItemId, Pageable limit);
+
+	// 배송 등록 응답의 배송 id 저장 (OutboxRelay)
+	@Transactional
+	@Modifying
+	@Query("update OrderItem i set i.deliveryId = :deliveryId where i.orderItemId = :orderItemId")
+	int updateDeliveryId(@Param("orderItemId") Long orderItemId, @Param("deliveryId") Long deliveryId);
+
+	// 일괄 상태 변경 대상 잠금 (검증 후 UPDATE 전까지 다른 요청이 상태를 바꾸지 못하게, id 순서로 잠가 교착 방지)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select i from OrderItem i where i.orderItemId in :ids order by i.orderItemId")
+	List<OrderItem> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+	// 같은 상태(from)인 상세 내역을 한 번에 변경, 영속성 컨텍스트는 변경 전에 반영하고 변경 후 비운다
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update OrderItem i set i.status = :to where i.orderItemId in :ids and i.status = :from")
+	int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+
+	// seller_id/ordered_at이 비어 있는 기존 데이터 (order_item_id 순서로 나눠서 처리)
+	@Query("select i from OrderItem i where (i.sellerId is null or i.orderedAt is null) and i.orderItemId > :afterId "
+			+ "order by i.orderItemId")
+	List<OrderItem> findBackfillTargets(@Param("afterId") Long afterId, Pageable limit);
+
+	// 비어 있는 컬럼만 채움 (조회 중에 바뀐 상태/배송 id 등 다른 컬럼은 건드리지 않음)
+	@Transactional
+	@Modifying
+	@Query("update OrderItem i set i.sellerId = coalesce(i.sellerId, :sellerId), "
+			+ "i.orderedAt = coalesce(i.orderedAt, :orderedAt) "
+			+ "where i.orderItemId = :orderItemId and (i.sellerId is null or i.orderedAt is null)")
+	int fillBackfillColumns(@Param("orderItemId") Long orderItemId, @Param("sellerId") Long sellerId,
+			@Param("orderedAt") LocalDateTime orderedAt);
+
+	// 구매자 주문 상태 배지용 : 상세 내역 상태별 개수
+	@Query("select i.status as status, count(i) as count from OrderItem i join Order o on o.orderedNum = i.orderedNum "
+			+ "where o.userId = :userId group by i.status")
+	List<StatusCount> countBuyerItemsByStatus(@Param("userId") Long userId);
 }
 
 
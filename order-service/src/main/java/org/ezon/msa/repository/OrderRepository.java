@@ -1,15 +1,48 @@
 package org.ezon.msa.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.ezon.msa.entity.Order;
+import org.ezon.msa.enums.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, String> {
     List<Order> findByUserId(Long userId);
     List<Order> findByOrderedNumIn(Set<String> orderedNums);
     boolean existsByPaymentId(Long paymentId);
+    Optional<Order> findByPaymentId(Long paymentId);
+
+    // paymentId 필터 재구성용 (payment_id unique 인덱스 순서대로 나눠서 조회)
+    @Query("select o.paymentId from Order o where o.paymentId > :after order by o.paymentId")
+    List<Long> findPaymentIdsAfter(@Param("after") Long after, Pageable limit);
+
+    // 주어진 상태의 상세 내역이 하나라도 있는 주문만 페이지 단위로 조회 (관리자 거래내역)
+    @Query(value = "select o from Order o where exists "
+    		+ "(select 1 from OrderItem i where i.orderedNum = o.orderedNum and i.status in :statuses)",
+    		countQuery = "select count(o) from Order o where exists "
+    		+ "(select 1 from OrderItem i where i.orderedNum = o.orderedNum and i.status in :statuses)")
+    Page<Order> findByItemStatusIn(@Param("statuses") Collection<OrderStatus> statuses, Pageable pageable);
+
+    // 커서 페이지네이션 (ordered_at, ordered_num 내림차순)
+    @Query("select o from Order o where exists "
+    		+ "(select 1 from OrderItem i where i.orderedNum = o.orderedNum and i.status in :statuses) "
+    		+ "order by o.orderedAt desc, o.orderedNum desc")
+    List<Order> findFirstByItemStatusIn(@Param("statuses") Collection<OrderStatus> statuses, Pageable limit);
+
+    @Query("select o from Order o where exists "
+    		+ "(select 1 from OrderItem i where i.orderedNum = o.orderedNum and i.status in :statuses) "
+    		+ "and (o.orderedAt < :at or (o.orderedAt = :at and o.orderedNum < :orderedNum)) "
+    		+ "order by o.orderedAt desc, o.orderedNum desc")
+    List<Order> findNextByItemStatusIn(@Param("statuses") Collection<OrderStatus> statuses,
+    		@Param("at") LocalDateTime at, @Param("orderedNum") String orderedNum, Pageable limit);
 }
 
 
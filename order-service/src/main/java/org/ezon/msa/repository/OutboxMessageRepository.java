@@ -0,0 +1,80 @@
+package org.ezon.msa.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.ezon.msa.entity.OutboxMessage;
+import org.ezon.msa.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+	// 상태별 개수 집계 결과
+	interface StatusCount {
+		OutboxStatus getStatus();
+		long getCount();
+	}
+
+	// 전송할 차례가 된 메시지 (다른 인스턴스가 잡고 있는 행은 건너뜀 : SKIP LOCKED)
+	// 같은 대상(aggregateKey)에 아직 전송되지 않은 앞선 메시지(PENDING/FAILED)가 있으면 가져가지 않음 (순서 유지)
+	// DEAD(전송 불가로 버린 메시지)는 막지 않음
+	// id는 인스턴스마다 미리 할당받은 범위라 순서는 생성 시각 기준
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("select m from OutboxMessage m where m.status = :status and m.nextAttemptAt <= :now "
+			+ "and (m.aggregateKey is null or not exists (select p.outboxId from OutboxMessage p "
+			+ "where p.aggregateKey = m.aggregateKey "
+			+ "and p.status in (org.ezon.msa.enums.OutboxStatus.PENDING, org.ezon.msa.enums.OutboxStatus.FAILED) "
+			+ "and (p.createdAt < m.createdAt or (p.createdAt = m.createdAt and p.outboxId < m.outboxId)))) "
+			+ "order by m.createdAt, m.outboxId")
+	List<OutboxMessage> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+			Pageable limit);
+
+	@Modifying
+	@Query("update OutboxMessage m set m.status = org.ezon.msa.enums.OutboxStatus.SENT, m.sentAt = :now, "
+			+ "m.attempts = m.attempts + 1, m.lastError = null where m.outboxId in :ids")
+	int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("update OutboxMessage m set m.status = org.ezon.msa.enums.OutboxStatus.PENDING, m.attempts = 0, "
+			+ "m.nextAttemptAt = :now where m.status = org.ezon.msa.enums.OutboxStatus.FAILED")
+	int retryFailed(@Param("now") LocalDateTime now);
+
+	// 한 건만 다시 전송 대기로 (FAILED/DEAD)
+	@Modifying
+	@Query("update OutboxMessage m set m.status = org.ezon.msa.enums.OutboxStatus.PENDING, m.attempts = 0, "
+			+ "m.nextAttemptAt = :now where m.outboxId = :outboxId and m.status in "
+			+ "(org.ezon.msa.enums.OutboxStatus.FAILED, org.ezon.msa.enums.OutboxStatus.DEAD)")
+	int retryOne(@Param("outboxId") Long outboxId, @Param("now") LocalDateTime now);
+
+	// FAILED 메시지를 버리고 같은 키의 다음 메시지부터 전송 (운영자가 확인한 뒤)
+	@Modifying
+	@Query("update OutboxMessage m set m.status = org.ezon.msa.enums.OutboxStatus.DEAD "
+			+ "where m.outboxId = :outboxId and m.status = org.ezon.msa.enums.OutboxStatus.FAILED")
+	int markDead(@Param("outboxId") Long outboxId);
+
+	// 같은 키의 다음 메시지를 막고 있는 FAILED 메시지
+	@Query("select m from OutboxMessage m where m.status = org.ezon.msa.enums.OutboxStatus.FAILED "
+			+ "order by m.createdAt, m.outboxId")
+	List<OutboxMessage> findFailed(Pageable limit);
+
+	@Query("select count(m) from OutboxMessage m where m.aggregateKey = :key "
+			+ "and m.status = org.ezon.msa.enums.OutboxStatus.PENDING")
+	long countPendingByKey(@Param("key") String key);
+
+	@Modifying
+	@Query("delete from OutboxMessage m where m.status = org.ezon.msa.enums.OutboxStatus.SENT and m.sentAt < :before")
+	int deleteSentBefore(@Param("before") LocalDateTime before);
+
+	@Query("select m.status as status, count(m) as count from OutboxMessage m group by m.status")
+	List<StatusCount> countByStatus();
+}
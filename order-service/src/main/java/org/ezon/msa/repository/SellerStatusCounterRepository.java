@@ -0,0 +1,50 @@
+package org.ezon.msa.repository;
+
+import java.util.List;
+
+import org.ezon.msa.entity.SellerStatusCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.transaction.Transactional;
+
+public interface SellerStatusCounterRepository extends JpaRepository<SellerStatusCounter, SellerStatusCounter.Key> {
+	List<SellerStatusCounter> findBySellerId(Long sellerId);
+	
+	// 행이 없으면 만들고 있으면 더함 (동시에 들어와도 유실 없음)
+	@Transactional
+	@Modifying
+	@Query(value = "insert into seller_status_counter (seller_id, counter_key, status_count) "
+			+ "values (:sellerId, :counterKey, :delta) "
+			+ "on duplicate key update status_count = status_count + :delta", nativeQuery = true)
+	int increment(@Param("sellerId") Long sellerId, @Param("counterKey") String counterKey, @Param("delta") long delta);
+	
+	// 재계산 : 지우고 다시 넣지 않고 행마다 덮어씀 (INSERT ... SELECT는 원본 행을 공유 잠금으로 읽으므로
+	// 재계산 도중 상태를 바꾸는 트랜잭션과 순서가 정해져 증감이 유실되거나 두 번 반영되지 않음)
+	@Modifying
+	@Query(value = "insert into seller_status_counter (seller_id, counter_key, status_count) "
+			+ "select i.seller_id, concat('ITEM_', i.status), count(*) from order_item i "
+			+ "where i.seller_id is not null group by i.seller_id, i.status "
+			+ "on duplicate key update status_count = values(status_count)", nativeQuery = true)
+	int rebuildItemCounts();
+	
+	@Modifying
+	@Query(value = "insert into seller_status_counter (seller_id, counter_key, status_count) "
+			+ "select i.seller_id, concat('CLAIM_', c.type, '_', c.status), count(*) "
+			+ "from claim c join order_item i on i.order_item_id = c.order_item_id "
+			+ "where i.seller_id is not null group by i.seller_id, c.type, c.status "
+			+ "on duplicate key update status_count = values(status_count)", nativeQuery = true)
+	int rebuildClaimCounts();
+	
+	// 원본에 더 이상 없는 상태의 카운터는 지우지 않고 0으로 (동시에 들어온 증감이 행을 다시 만들지 않도록)
+	@Modifying
+	@Query(value = "update seller_status_counter s set s.status_count = 0 where s.status_count <> 0 "
+			+ "and not exists (select 1 from order_item i where i.seller_id = s.seller_id "
+			+ "and s.counter_key = concat('ITEM_', i.status)) "
+			+ "and not exists (select 1 from claim c join order_item i on i.order_item_id = c.order_item_id "
+			+ "where i.seller_id = s.seller_id and s.counter_key = concat('CLAIM_', c.type, '_', c.status))",
+			nativeQuery = true)
+	int resetStaleCounts();
+}
@@ -0,0 +1,49 @@
+package org.ezon.msa.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 외부 서비스 하나에 동시에 나갈 수 있는 호출 수 제한 (느린 서비스가 요청 스레드를 모두 잡지 않도록)
+public class Bulkhead {
+
+	private final int maxConcurrent;
+	private final long maxWaitMillis;
+	private final Semaphore permits;
+	private final LongAdder rejected = new LongAdder();
+
+	public Bulkhead(int maxConcurrent, Duration maxWait) {
+		this.maxConcurrent = Math.max(1, maxConcurrent);
+		this.maxWaitMillis = maxWait.toMillis();
+		this.permits = new Semaphore(this.maxConcurrent);
+	}
+
+	public boolean tryAcquire() {
+		boolean acquired;
+		try {
+			acquired = maxWaitMillis <= 0 ? permits.tryAcquire() : permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		}
+		if (!acquired) {
+			rejected.increment();
+		}
+		return acquired;
+	}
+
+	public void release() {
+		permits.release();
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("maxConcurrent", maxConcurrent);
+		result.put("inUse", maxConcurrent - permits.availablePermits());
+		result.put("rejectedCalls", rejected.sum());
+		return result;
+	}
+}
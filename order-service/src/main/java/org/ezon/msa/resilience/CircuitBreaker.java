@@ -0,0 +1,163 @@
+package org.ezon.msa.resilience;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 외부 서비스 하나에 대한 circuit breaker (최근 windowSize건 기준).
+ * <p>
+ * CLOSED : 실패율 또는 느린 호출 비율이 기준을 넘으면 OPEN<br>
+ * OPEN : openDuration 동안 호출하지 않고 바로 실패, 이후 HALF_OPEN<br>
+ * HALF_OPEN : halfOpenCalls건만 시험 호출, 모두 정상이면 CLOSED, 하나라도 실패/느리면 다시 OPEN
+ * <p>
+ * 상태 전환마다 generation을 올려서, 전환 전에 시작된 호출 결과는 반영하지 않는다.
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	public static final long NOT_PERMITTED = -1L;
+
+	private static final byte SUCCESS = 1;
+	private static final byte FAILURE = 2;
+	private static final byte SLOW = 4;
+
+	private final String name;
+	private final int minimumCalls;
+	private final int failureRateThreshold;
+	private final long slowCallMillis;
+	private final int slowCallRateThreshold;
+	private final long openMillis;
+	private final int halfOpenCalls;
+
+	private final byte[] window;
+	private int index;
+	private int buffered;
+	private int failures;
+	private int slows;
+
+	private State state = State.CLOSED;
+	private long generation;
+	private long openedAt;
+	private int halfOpenInFlight;
+	private int halfOpenSucceeded;
+
+	private final LongAdder notPermitted = new LongAdder();
+
+	public CircuitBreaker(String name, ResilienceProperties props) {
+		this.name = name;
+		this.window = new byte[Math.max(1, props.getWindowSize())];
+		this.minimumCalls = Math.max(1, Math.min(props.getMinimumCalls(), window.length));
+		this.failureRateThreshold = props.getFailureRateThreshold();
+		this.slowCallMillis = props.getSlowCallDuration().toMillis();
+		this.slowCallRateThreshold = props.getSlowCallRateThreshold();
+		this.openMillis = props.getOpenDuration().toMillis();
+		this.halfOpenCalls = Math.max(1, props.getHalfOpenCalls());
+	}
+
+	// 호출해도 되면 generation, 안 되면 NOT_PERMITTED
+	public synchronized long tryAcquire() {
+		if (state == State.OPEN) {
+			if (System.currentTimeMillis() - openedAt < openMillis) {
+				notPermitted.increment();
+				return NOT_PERMITTED;
+			}
+			transition(State.HALF_OPEN);
+		}
+		if (state == State.HALF_OPEN) {
+			if (halfOpenInFlight >= halfOpenCalls) {
+				notPermitted.increment();
+				return NOT_PERMITTED;
+			}
+			halfOpenInFlight++;
+		}
+		return generation;
+	}
+
+	// 호출하지 않고 허가만 돌려줌 (bulkhead에서 거절된 경우)
+	public synchronized void release(long permit) {
+		if (permit == generation && state == State.HALF_OPEN) {
+			halfOpenInFlight--;
+		}
+	}
+
+	public synchronized void onResult(long permit, boolean failure, long elapsedMillis) {
+		if (permit != generation) {
+			return;
+		}
+		boolean slow = elapsedMillis >= slowCallMillis;
+		if (state == State.HALF_OPEN) {
+			halfOpenInFlight--;
+			if (failure || slow) {
+				transition(State.OPEN);
+			} else if (++halfOpenSucceeded >= halfOpenCalls) {
+				transition(State.CLOSED);
+			}
+			return;
+		}
+		if (state != State.CLOSED) {
+			return;
+		}
+		record((byte) ((failure ? FAILURE : SUCCESS) | (slow ? SLOW : 0)));
+		if (buffered >= minimumCalls
+				&& (failures * 100 >= failureRateThreshold * buffered || slows * 100 >= slowCallRateThreshold * buffered)) {
+			transition(State.OPEN);
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public synchronized Map<String, Object> stats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("state", state.name());
+		result.put("bufferedCalls", buffered);
+		result.put("failureRate", buffered == 0 ? 0.0 : failures * 100.0 / buffered);
+		result.put("slowCallRate", buffered == 0 ? 0.0 : slows * 100.0 / buffered);
+		result.put("notPermittedCalls", notPermitted.sum());
+		if (state == State.OPEN) {
+			result.put("retryAfterMs", Math.max(0, openMillis - (System.currentTimeMillis() - openedAt)));
+		}
+		return result;
+	}
+
+	private void record(byte outcome) {
+		byte old = window[index];
+		if (old == 0) {
+			buffered++;
+		}
+		failures += ((outcome & FAILURE) != 0 ? 1 : 0) - ((old & FAILURE) != 0 ? 1 : 0);
+		slows += ((outcome & SLOW) != 0 ? 1 : 0) - ((old & SLOW) != 0 ? 1 : 0);
+		window[index] = outcome;
+		index = (index + 1) % window.length;
+	}
+
+	private void transition(State next) {
+		if (state != next) {
+			System.out.println("[circuit breaker] " + name + " : " + state + " -> " + next);
+		}
+		state = next;
+		generation++;
+		halfOpenInFlight = 0;
+		halfOpenSucceeded = 0;
+		if (next == State.OPEN) {
+			openedAt = System.currentTimeMillis();
+		}
+		if (next == State.CLOSED) {
+			Arrays.fill(window, (byte) 0);
+			index = 0;
+			buffered = 0;
+			failures = 0;
+			slows = 0;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package org.ezon.msa.resilience;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.ezon.msa.config.HttpClientProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * RestTemplate 인터셉터 : 호출 대상(host:port)에 해당하는 외부 서비스의 circuit breaker와 bulkhead를 적용한다.
+ * <p>
+ * 연결 실패/타임아웃과 5xx는 실패로, 4xx는 정상 응답으로 본다.
+ * bulkhead 자리는 응답 본문을 다 읽고 닫을 때 반납한다.
+ */
+public class DownstreamGuard implements ClientHttpRequestInterceptor {
+
+	private final ResilienceProperties props;
+	private final Map<String, HttpClientProperties.Downstream> downstreams;
+	private final Map<String, CircuitBreaker> breakers = new LinkedHashMap<>();
+	private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+	public DownstreamGuard(ResilienceProperties props, HttpClientProperties httpProps) {
+		this.props = props;
+		this.downstreams = httpProps.getDownstream();
+		downstreams.keySet().forEach(name -> {
+			breakers.put(name, new CircuitBreaker(name, props));
+			bulkheads.put(name, new Bulkhead(props.getMaxConcurrentPerService().getOrDefault(name, props.getMaxConcurrent()),
+					props.getMaxWait()));
+		});
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		String name = props.isEnabled() ? resolve(request.getURI()) : null;
+		if (name == null) {
+			return execution.execute(request, body);
+		}
+		CircuitBreaker breaker = breakers.get(name);
+		Bulkhead bulkhead = bulkheads.get(name);
+
+		long permit = breaker.tryAcquire();
+		if (permit == CircuitBreaker.NOT_PERMITTED) {
+			throw new DownstreamUnavailableException("[" + name + "] circuit breaker " + breaker.getState());
+		}
+		if (!bulkhead.tryAcquire()) {
+			breaker.release(permit);
+			throw new DownstreamUnavailableException("[" + name + "] bulkhead full");
+		}
+		long start = System.currentTimeMillis();
+		ClientHttpResponse response;
+		try {
+			response = execution.execute(request, body);
+		} catch (IOException | RuntimeException e) {
+			bulkhead.release();
+			breaker.onResult(permit, true, System.currentTimeMillis() - start);
+			throw e;
+		}
+		breaker.onResult(permit, response.getStatusCode().is5xxServerError(), System.currentTimeMillis() - start);
+		return new ReleasingResponse(response, bulkhead);
+	}
+
+	public Map<String, Map<String, Object>> stats() {
+		Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+		breakers.forEach((name, breaker) -> {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("circuitBreaker", breaker.stats());
+			entry.put("bulkhead", bulkheads.get(name).stats());
+			result.put(name, entry);
+		});
+		return result;
+	}
+
+	private String resolve(URI uri) {
+		int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+		for (Map.Entry<String, HttpClientProperties.Downstream> e : downstreams.entrySet()) {
+			HttpClientProperties.Downstream d = e.getValue();
+			if (d.getPort() == port && d.getHost().equalsIgnoreCase(uri.getHost())) {
+				return e.getKey();
+			}
+		}
+		return null;
+	}
+
+	// close 시 bulkhead 자리 반납 (한 번만)
+	private static class ReleasingResponse implements ClientHttpResponse {
+		private final ClientHttpResponse delegate;
+		private Bulkhead bulkhead;
+
+		ReleasingResponse(ClientHttpResponse delegate, Bulkhead bulkhead) {
+			this.delegate = delegate;
+			this.bulkhead = bulkhead;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return delegate.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return delegate.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				delegate.close();
+			} finally {
+				if (bulkhead != null) {
+					bulkhead.release();
+					bulkhead = null;
+				}
+			}
+		}
+	}
+}
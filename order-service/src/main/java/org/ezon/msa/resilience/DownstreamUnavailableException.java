@@ -0,0 +1,14 @@
+package org.ezon.msa.resilience;
+
+import java.io.IOException;
+
+// circuit breaker가 열려 있거나 bulkhead가 가득 차서 호출하지 않음
+// IOException이므로 RestTemplate에서 ResourceAccessException으로 바뀌어 기존 fallback(catch)으로 처리된다
+public class DownstreamUnavailableException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	public DownstreamUnavailableException(String message) {
+		super(message);
+	}
+}
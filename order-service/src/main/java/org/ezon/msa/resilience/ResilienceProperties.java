@@ -0,0 +1,31 @@
+package org.ezon.msa.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// 외부 서비스별 circuit breaker / bulkhead 설정 (order.resilience.*)
+@Data
+@ConfigurationProperties(prefix = "order.resilience")
+public class ResilienceProperties {
+
+	private boolean enabled = true;
+
+	// circuit breaker : 최근 windowSize건 중 minimumCalls건 이상 쌓였을 때 판단
+	private int windowSize = 20;
+	private int minimumCalls = 10;
+	private int failureRateThreshold = 50;
+	private Duration slowCallDuration = Duration.ofSeconds(2);
+	private int slowCallRateThreshold = 80;
+	private Duration openDuration = Duration.ofSeconds(10);
+	private int halfOpenCalls = 3;
+
+	// bulkhead : 서비스별 동시 호출 수, 자리가 없을 때 기다리는 시간
+	private int maxConcurrent = 20;
+	private Duration maxWait = Duration.ZERO;
+	private Map<String, Integer> maxConcurrentPerService = new LinkedHashMap<>();
+}
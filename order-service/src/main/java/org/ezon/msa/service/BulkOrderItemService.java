@@ -0,0 +1,423 @@
+package org.ezon.msa.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.ezon.msa.dto.AddressDto;
+import org.ezon.msa.dto.DeliveryRequestDto;
+import org.ezon.msa.dto.DeliveryResponseDto;
+import org.ezon.msa.dto.ProductDto;
+import org.ezon.msa.dto.ShipmentRequestDto;
+import org.ezon.msa.dto.StatusTransitionDto;
+import org.ezon.msa.entity.Order;
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.enums.DeliveryStatus;
+import org.ezon.msa.enums.OrderEvent;
+import org.ezon.msa.enums.OrderStatus;
+import org.ezon.msa.enums.OutboxType;
+import org.ezon.msa.event.ItemStatusChangedEvent;
+import org.ezon.msa.event.OrderEventBus;
+import org.ezon.msa.repository.OrderItemRepository;
+import org.ezon.msa.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.transaction.Transactional;
+
+// 판매자 일괄 처리 : 상세 내역 여러 건을 한 트랜잭션에서 검증 후 상태별 UPDATE 한 번씩으로 변경
+// 배송서비스 호출은 묶어서 outbox에 기록 (OutboxRelay가 일괄 API 또는 건별 API로 전송)
+@Service
+public class BulkOrderItemService {
+
+	private static final String ADDRESS_URL = "http://localhost:10500/api/delivery/user/";
+	private static final String DELIVERY_REGISTER_BATCH_URL = "http://localhost:10500/api/delivery/batch";
+	private static final String DELIVERY_STATUS_BATCH_URL = "http://localhost:10500/api/delivery/status/batch";
+
+	// 송장 번호는 숫자만 (단건 등록과 같이 Long으로 변환)
+	private static final Pattern TRACKING_NUMBER = Pattern.compile("\\d{1,18}");
+
+	// 판매자가 일괄로 보낼 수 있는 이벤트
+	public static final Set<OrderEvent> SELLER_EVENTS = EnumSet.of(
+			OrderEvent.ADVANCE, OrderEvent.CANCEL_SOLD_OUT, OrderEvent.CANCEL_NO_DELIVERY);
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private SellerCounterService sellerCounterService;
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private OrderDetailCache orderDetailCache;
+
+	@Autowired
+	private OrderEventBus orderEventBus;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ProductLookupService productLookupService;
+
+	@Autowired
+	private RestTemplate restTemplate;
+
+	@Autowired
+	@Qualifier("remoteCallExecutor")
+	private Executor remoteCallExecutor;
+
+	// 송장 일괄 등록 시 배송지/상품 조회 전체 제한시간
+	@Value("${order.bulk.lookupTimeoutMs:5000}")
+	private long lookupTimeoutMs;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${order.bulk.maxItems:1000}")
+	private int maxItems;
+
+	// 배송서비스 일괄 변경 요청 한 건에 담을 배송 수
+	@Value("${order.bulk.deliveryChunkSize:100}")
+	private int deliveryChunkSize;
+
+	/**
+	 * 요청한 순서대로 상세 내역별 결과를 돌려준다. 허용되지 않는 상세 내역은 건너뛰고 나머지만 변경한다.
+	 * 배송 상태가 바뀌는 상세 내역은 배송서비스에 deliveryChunkSize 단위로 묶어서 outbox에 기록한다.
+	 */
+	@Transactional
+	public List<StatusTransitionDto> transition(Long sellerId, List<Long> orderItemIds, OrderEvent event) {
+		requireSeller(sellerId);
+		if (event == null || !SELLER_EVENTS.contains(event)) {
+			throw new IllegalArgumentException("판매자 일괄 처리에 사용할 수 없는 이벤트 : " + event);
+		}
+		Set<Long> ids = orderItemIds == null ? Set.of() : orderItemIds.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (ids.isEmpty() || ids.size() > maxItems) {
+			throw new IllegalArgumentException("상세 내역은 1건 이상 " + maxItems + "건 이하로 요청해야 합니다 : " + ids.size());
+		}
+
+		Map<Long, OrderItem> items = orderItemRepository.findAllByIdForUpdate(ids).stream()
+				.collect(Collectors.toMap(OrderItem::getOrderItemId, Function.identity()));
+
+		List<StatusTransitionDto> results = new ArrayList<>(ids.size());
+		Map<OrderStatus, List<OrderItem>> byFrom = new EnumMap<>(OrderStatus.class);
+		Map<Long, Long> deliveryIds = new HashMap<>();
+		for (Long id : ids) {
+			OrderItem item = items.get(id);
+			StatusTransitionDto result = check(id, item, sellerId, event);
+			// 다음 단계 진행은 단건 처리와 같이 배송 등록이 끝난 상세 내역만 (결제완료 -> 배송준비는 송장 등록으로)
+			// 잠근 상태라 배송서비스는 호출하지 않고 저장된 배송 id만 사용
+			if (result.isApplied() && event == OrderEvent.ADVANCE) {
+				if (item.getDeliveryId() == null) {
+					fail(result, "배송 id 없음 (배송 등록 반영 전이거나 이전 데이터, 단건 처리 사용)");
+				} else {
+					deliveryIds.put(id, item.getDeliveryId());
+				}
+			}
+			if (result.isApplied()) {
+				byFrom.computeIfAbsent(result.getFrom(), k -> new ArrayList<>()).add(item);
+			}
+			results.add(result);
+		}
+
+		List<DeliveryResponseDto> deliveryUpdates = new ArrayList<>();
+		byFrom.forEach((from, group) -> {
+			OrderStatus to = OrderStateMachine.next(from, event);
+			List<Long> groupIds = group.stream().map(OrderItem::getOrderItemId).toList();
+			int updated = orderItemRepository.updateStatus(groupIds, from, to);
+			if (updated != groupIds.size()) {
+				// 잠근 뒤라 일어나지 않아야 함
+				throw new IllegalStateException("일괄 상태 변경 건수 불일치 : " + from + " -> " + to
+						+ ", 요청 " + groupIds.size() + "건, 변경 " + updated + "건");
+			}
+			sellerCounterService.itemsStatusChanged(group, from, to);
+			orderDetailCache.evictAfterCommit(group.stream().map(OrderItem::getOrderedNum).collect(Collectors.toSet()));
+			publishStatusChanged(group, from, to);
+			DeliveryStatus dStatus = OrderService.toDeliveryStatus(to);
+			if (dStatus != null) {
+				for (Long id : groupIds) {
+					DeliveryResponseDto drd = new DeliveryResponseDto();
+					drd.setDeliveryId(deliveryIds.get(id));
+					drd.setOrderItemId(id);
+					drd.setStatus(dStatus);
+					deliveryUpdates.add(drd);
+				}
+			}
+		});
+
+		enqueueChunks(OutboxType.DELIVERY_STATUS_BATCH, sellerId, HttpMethod.PUT, DELIVERY_STATUS_BATCH_URL, deliveryUpdates);
+		return results;
+	}
+
+	/**
+	 * 송장 일괄 등록 : 결제완료 상세 내역을 배송준비로 바꾸고 배송 등록 요청을 deliveryChunkSize 단위로 outbox에 기록한다.
+	 * 배송지와 상품은 서로 다른 것만 한 번씩 (동시에) 트랜잭션 밖에서 조회하고,
+	 * 잠근 뒤에는 다시 검증하고 UPDATE만 한다. 결과는 요청한 순서대로.
+	 */
+	public List<StatusTransitionDto> registerShipments(Long sellerId, List<ShipmentRequestDto> shipments) {
+		requireSeller(sellerId);
+		if (shipments == null || shipments.isEmpty() || shipments.size() > maxItems) {
+			throw new IllegalArgumentException("송장은 1건 이상 " + maxItems + "건 이하로 요청해야 합니다 : "
+					+ (shipments == null ? 0 : shipments.size()));
+		}
+		OrderEvent event = OrderEvent.ADVANCE;
+		List<StatusTransitionDto> results = new ArrayList<>(shipments.size());
+		// orderItemId별 송장 번호와 결과 (같은 상세 내역이 여러 번 오면 첫 번째만 처리)
+		Map<Long, String> trackingNumbers = new LinkedHashMap<>();
+		Map<Long, StatusTransitionDto> pending = new HashMap<>();
+		for (ShipmentRequestDto s : shipments) {
+			Long id = s == null ? null : s.getOrderItemId();
+			String trackingNumber = s == null || s.getTrackingNumber() == null ? "" : s.getTrackingNumber().trim();
+			if (id == null) {
+				results.add(rejected(null, event, null, "상세 내역 없음"));
+			} else if (trackingNumbers.containsKey(id)) {
+				results.add(rejected(id, event, null, "중복 요청"));
+			} else if (!TRACKING_NUMBER.matcher(trackingNumber).matches()) {
+				trackingNumbers.put(id, null);
+				results.add(rejected(id, event, null, "송장 번호 형식 오류"));
+			} else {
+				trackingNumbers.put(id, trackingNumber);
+				StatusTransitionDto result = rejected(id, event, null, null);
+				pending.put(id, result);
+				results.add(result);
+			}
+		}
+		if (pending.isEmpty()) {
+			return results;
+		}
+
+		// 1. 잠그지 않고 읽어서 외부 조회 대상을 정함 (잠근 뒤에 다시 검증)
+		Map<Long, OrderItem> items = orderItemRepository.findAllById(pending.keySet()).stream()
+				.collect(Collectors.toMap(OrderItem::getOrderItemId, Function.identity()));
+		List<OrderItem> targets = new ArrayList<>();
+		for (Map.Entry<Long, StatusTransitionDto> entry : pending.entrySet()) {
+			OrderItem item = items.get(entry.getKey());
+			StatusTransitionDto checked = checkShipment(entry.getKey(), item, sellerId);
+			copy(checked, entry.getValue());
+			if (checked.isApplied()) {
+				targets.add(item);
+			}
+		}
+		if (targets.isEmpty()) {
+			return results;
+		}
+
+		// 2. 배송지(주문별)와 상품은 서로 다른 것만 한 번씩 조회 (DB 커넥션/잠금 없이)
+		Map<String, Long> addressIdByOrder = orderRepository.findAllById(targets.stream()
+						.map(OrderItem::getOrderedNum).collect(Collectors.toSet())).stream()
+				.filter(o -> o.getAddressId() != null)
+				.collect(Collectors.toMap(Order::getOrderedNum, Order::getAddressId));
+		Map<Long, CompletableFuture<AddressDto>> addressFutures = new HashMap<>();
+		for (Long addressId : new LinkedHashSet<>(addressIdByOrder.values())) {
+			addressFutures.put(addressId, RemoteCalls.submit(remoteCallExecutor, () -> fetchAddress(addressId)));
+		}
+		CompletableFuture<Map<Long, ProductDto>> productsFuture = RemoteCalls.submit(remoteCallExecutor,
+				() -> productLookupService.findProducts(targets.stream().map(OrderItem::getProductId).toList()));
+		List<CompletableFuture<?>> futures = new ArrayList<>(addressFutures.values());
+		futures.add(productsFuture);
+		// 거절되거나 제한시간 안에 끝나지 않은(취소된) 조회는 아래에서 상세 내역별로 실패 처리
+		if (!RemoteCalls.awaitAll(futures, lookupTimeoutMs)) {
+			System.out.println("[송장 일괄 등록 외부 조회 시간 초과] 조회되지 않은 상세 내역은 실패 처리");
+		}
+		Map<Long, ProductDto> products = getNow(productsFuture);
+
+		Map<Long, DeliveryRequestDto> requests = new LinkedHashMap<>();
+		for (OrderItem item : targets) {
+			StatusTransitionDto result = pending.get(item.getOrderItemId());
+			AddressDto address = getNow(addressFutures.get(addressIdByOrder.get(item.getOrderedNum())));
+			ProductDto product = products == null ? null : products.get(item.getProductId());
+			if (address == null || product == null) {
+				fail(result, address == null ? "배송지 조회 실패" : "상품 조회 실패");
+				continue;
+			}
+			try {
+				requests.put(item.getOrderItemId(), orderService.makeDRD(product, address,
+						Long.parseLong(trackingNumbers.get(item.getOrderItemId())), item));
+			} catch (Exception e) {
+				fail(result, "배송 요청 생성 실패 : " + e.getMessage());
+			}
+		}
+		if (requests.isEmpty()) {
+			return results;
+		}
+
+		// 3. 잠근 뒤에는 검증과 UPDATE, outbox 기록만
+		transactionTemplate.executeWithoutResult(status -> applyShipments(sellerId, requests, pending));
+		return results;
+	}
+
+	private void applyShipments(Long sellerId, Map<Long, DeliveryRequestDto> requests,
+			Map<Long, StatusTransitionDto> pending) {
+		List<OrderItem> registered = new ArrayList<>();
+		for (OrderItem item : orderItemRepository.findAllByIdForUpdate(requests.keySet())) {
+			// 조회하는 동안 상태나 판매자가 바뀌었으면 등록하지 않음
+			StatusTransitionDto checked = checkShipment(item.getOrderItemId(), item, sellerId);
+			if (checked.isApplied()) {
+				registered.add(item);
+			} else {
+				copy(checked, pending.get(item.getOrderItemId()));
+			}
+		}
+		Set<Long> registeredIds = registered.stream().map(OrderItem::getOrderItemId)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		for (Long id : requests.keySet()) {
+			if (!registeredIds.contains(id) && pending.get(id).isApplied()) {
+				copy(rejected(id, OrderEvent.ADVANCE, null, "상세 내역 없음"), pending.get(id));
+			}
+		}
+		if (registered.isEmpty()) {
+			return;
+		}
+
+		int updated = orderItemRepository.updateStatus(registeredIds, OrderStatus.PAID, OrderStatus.READY_SHIPMENT);
+		if (updated != registeredIds.size()) {
+			// 잠근 뒤라 일어나지 않아야 함
+			throw new IllegalStateException("송장 일괄 등록 상태 변경 건수 불일치 : 요청 " + registeredIds.size()
+					+ "건, 변경 " + updated + "건");
+		}
+		sellerCounterService.itemsStatusChanged(registered, OrderStatus.PAID, OrderStatus.READY_SHIPMENT);
+		orderDetailCache.evictAfterCommit(registered.stream().map(OrderItem::getOrderedNum).collect(Collectors.toSet()));
+		publishStatusChanged(registered, OrderStatus.PAID, OrderStatus.READY_SHIPMENT);
+		enqueueChunks(OutboxType.DELIVERY_REGISTER_BATCH, sellerId, HttpMethod.POST, DELIVERY_REGISTER_BATCH_URL,
+				registeredIds.stream().map(requests::get).toList());
+	}
+
+	// 송장 등록은 결제완료 상태만
+	private static StatusTransitionDto checkShipment(Long id, OrderItem item, Long sellerId) {
+		StatusTransitionDto checked = check(id, item, sellerId, OrderEvent.ADVANCE);
+		if (checked.isApplied() && checked.getFrom() != OrderStatus.PAID) {
+			return rejected(id, OrderEvent.ADVANCE, checked.getFrom(), "결제완료 상태만 송장 등록 가능");
+		}
+		return checked;
+	}
+
+	// "orderItemId,trackingNumber" 한 줄에 한 건 (택배사 CSV), 첫 줄이 머리글이면 건너뜀
+	public static List<ShipmentRequestDto> parseShipments(String csv) {
+		List<ShipmentRequestDto> result = new ArrayList<>();
+		String[] lines = csv == null ? new String[0] : csv.split("\\r?\\n");
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			String[] cols = line.split(",");
+			String id = cols[0].replace("\uFEFF", "").trim().replace("\"", "");
+			if (i == 0 && !id.matches("\\d+")) {
+				continue;
+			}
+			if (cols.length < 2 || !id.matches("\\d+")) {
+				throw new IllegalArgumentException("CSV " + (i + 1) + "번째 줄 형식 오류 : " + line);
+			}
+			result.add(new ShipmentRequestDto(Long.valueOf(id), cols[1].trim().replace("\"", "")));
+		}
+		return result;
+	}
+
+	private static void requireSeller(Long sellerId) {
+		if (sellerId == null) {
+			throw new IllegalArgumentException("sellerId는 필수입니다");
+		}
+	}
+
+	// 상세 내역 존재, 판매자 확인 후 상태 변경 표로 검증
+	// seller_id가 아직 채워지지 않은 상세 내역은 판매자를 확인할 수 없으므로 일괄 처리하지 않음
+	private static StatusTransitionDto check(Long id, OrderItem item, Long sellerId, OrderEvent event) {
+		if (item == null) {
+			return rejected(id, event, null, "상세 내역 없음");
+		}
+		if (item.getSellerId() == null) {
+			return rejected(id, event, item.getStatus(), "판매자 확인 전 상세 내역 (단건 처리 사용)");
+		}
+		if (!item.getSellerId().equals(sellerId)) {
+			return rejected(id, event, item.getStatus(), "판매자 불일치");
+		}
+		return OrderStateMachine.plan(List.of(item), event).get(0);
+	}
+
+	// UPDATE 쿼리로 바꾼 상세 내역은 엔티티 상태가 그대로라 from/to를 직접 넘김
+	private void publishStatusChanged(List<OrderItem> items, OrderStatus from, OrderStatus to) {
+		LocalDateTime now = LocalDateTime.now();
+		orderEventBus.publishAfterCommit(items.stream()
+				.map(item -> ItemStatusChangedEvent.of(item, from, to, now))
+				.toList());
+	}
+
+	// 단건 처리와 같은 판매자 키로 기록 (같은 상세 내역의 단건/일괄 메시지가 순서대로 전송되도록)
+	private <T> void enqueueChunks(OutboxType type, Long sellerId, HttpMethod method, String url, List<T> payloads) {
+		int chunkSize = Math.max(1, deliveryChunkSize);
+		String key = OutboxService.deliveryKey(sellerId, null);
+		for (int from = 0; from < payloads.size(); from += chunkSize) {
+			List<T> chunk = new ArrayList<>(payloads.subList(from, Math.min(from + chunkSize, payloads.size())));
+			outboxService.enqueue(type, key, method, url, chunk);
+		}
+	}
+
+	// 실패 시 null (주문 상세와 달리 기본 주소로 대체하지 않음)
+	private AddressDto fetchAddress(Long addressId) {
+		try {
+			return restTemplate.getForObject(ADDRESS_URL + addressId, AddressDto.class);
+		} catch (Exception e) {
+			System.out.println("[배송서비스 주소 API 연결 실패] addressId : " + addressId + " => " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static <T> T getNow(CompletableFuture<T> future) {
+		if (future == null) {
+			return null;
+		}
+		try {
+			return future.getNow(null);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static void copy(StatusTransitionDto from, StatusTransitionDto to) {
+		to.setFrom(from.getFrom());
+		to.setTo(from.getTo());
+		to.setApplied(from.isApplied());
+		to.setMessage(from.getMessage());
+	}
+
+	private static void fail(StatusTransitionDto result, String message) {
+		result.setApplied(false);
+		result.setTo(null);
+		result.setMessage(message);
+	}
+
+	private static StatusTransitionDto rejected(Long orderItemId, OrderEvent event, OrderStatus from, String message) {
+		return StatusTransitionDto.builder()
+				.orderItemId(orderItemId)
+				.event(event)
+				.from(from)
+				.applied(false)
+				.message(message)
+				.build();
+	}
+}
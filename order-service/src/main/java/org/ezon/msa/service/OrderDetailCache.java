@@ -0,0 +1,216 @@
+package org.ezon.msa.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ezon.msa.dto.OrderDetailDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 주문 상세(OrderDetailDto) Redis 캐시 : 인스턴스끼리 공유, 상세 내역 상태가 바뀌면 커밋 후 삭제
+// 주문마다 세대 번호를 두고 삭제할 때 올린다. 조회 시작 때 읽은 세대와 같을 때만 저장해서
+// DB 조회 후 외부 호출을 기다리는 동안 커밋된 변경을 이전 결과로 덮어쓰지 않게 한다.
+// Redis 장애 시에는 캐시 없이 동작하고 retryAfter 동안은 Redis를 호출하지 않는다
+@Component
+public class OrderDetailCache {
+
+	private static final String KEY_PREFIX = "order:detail:";
+	private static final Object EVICT_RESOURCE_KEY = new Object();
+
+	// KEYS[1] 상세, KEYS[2] 세대 / ARGV[1] 조회 시작 때 세대, ARGV[2] 값, ARGV[3] TTL(ms)
+	private static final RedisScript<Long> PUT_IF_CURRENT = new DefaultRedisScript<>(
+			"local gen = redis.call('GET', KEYS[2]) or '0' "
+			+ "if gen ~= ARGV[1] then return 0 end "
+			+ "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) "
+			+ "return 1", Long.class);
+
+	// KEYS 앞 절반 상세, 뒤 절반 세대 / ARGV[1] 세대 키 TTL(ms)
+	private static final RedisScript<Long> EVICT_AND_BUMP = new DefaultRedisScript<>(
+			"local n = #KEYS / 2 "
+			+ "local deleted = 0 "
+			+ "for i = 1, n do "
+			+ "deleted = deleted + redis.call('DEL', KEYS[i]) "
+			+ "redis.call('INCR', KEYS[n + i]) "
+			+ "redis.call('PEXPIRE', KEYS[n + i], ARGV[1]) "
+			+ "end "
+			+ "return deleted", Long.class);
+
+	// 조회 결과 : 캐시에 없으면 detail은 null, generation이 null이면 저장하지 않음 (Redis 사용 불가)
+	public record Lookup(OrderDetailDto detail, String generation) {
+	}
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${order.detailCache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${order.detailCache.ttl:10m}")
+	private Duration ttl;
+
+	// 모든 상세 내역이 더 바뀌지 않는 상태(구매확정, 취소, 환불 승인 등)인 주문
+	@Value("${order.detailCache.settledTtl:24h}")
+	private Duration settledTtl;
+
+	@Value("${order.detailCache.retryAfter:30s}")
+	private Duration retryAfter;
+
+	private volatile long skipUntil;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong puts = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final AtomicLong staleSkips = new AtomicLong();
+
+	// 상세와 세대를 한 번에 조회 (DB 조회 전에 호출)
+	public Lookup get(String orderedNum) {
+		if (!available()) {
+			return new Lookup(null, null);
+		}
+		try {
+			List<String> values = redisTemplate.opsForValue().multiGet(
+					List.of(detailKey(orderedNum), generationKey(orderedNum)));
+			String json = values == null ? null : values.get(0);
+			String generation = values == null || values.get(1) == null ? "0" : values.get(1);
+			if (json == null) {
+				misses.incrementAndGet();
+				return new Lookup(null, generation);
+			}
+			hits.incrementAndGet();
+			return new Lookup(objectMapper.readValue(json, OrderDetailDto.class), generation);
+		} catch (Exception e) {
+			failed("조회", e);
+			return new Lookup(null, null);
+		}
+	}
+
+	// 외부 조회가 모두 성공한 결과만 저장 (기본값으로 채운 응답은 저장하지 않음)
+	// 조회를 시작한 뒤에 삭제(세대 증가)가 있었으면 저장하지 않음
+	public void put(String orderedNum, String generation, OrderDetailDto detail, boolean settled) {
+		if (generation == null || !available()) {
+			return;
+		}
+		try {
+			Long stored = redisTemplate.execute(PUT_IF_CURRENT,
+					List.of(detailKey(orderedNum), generationKey(orderedNum)),
+					generation, objectMapper.writeValueAsString(detail),
+					String.valueOf((settled ? settledTtl : ttl).toMillis()));
+			if (stored != null && stored == 1) {
+				puts.incrementAndGet();
+			} else {
+				staleSkips.incrementAndGet();
+			}
+		} catch (Exception e) {
+			failed("저장", e);
+		}
+	}
+
+	/**
+	 * 트랜잭션 안이면 커밋 후에 한 번에 삭제한다 (롤백되면 삭제하지 않음, 커밋 전 값을 다시 캐시하지 않도록).
+	 * 트랜잭션 밖이면 바로 삭제한다.
+	 */
+	@SuppressWarnings("unchecked")
+	public void evictAfterCommit(Collection<String> orderedNums) {
+		if (!enabled || orderedNums.isEmpty()) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(orderedNums);
+			return;
+		}
+		Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(EVICT_RESOURCE_KEY);
+		if (pending == null) {
+			Set<String> keys = new LinkedHashSet<>();
+			TransactionSynchronizationManager.bindResource(EVICT_RESOURCE_KEY, keys);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evict(keys);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(EVICT_RESOURCE_KEY);
+				}
+			});
+			pending = keys;
+		}
+		orderedNums.stream().filter(Objects::nonNull).forEach(pending::add);
+	}
+
+	public void evict(Collection<String> orderedNums) {
+		if (!enabled || orderedNums.isEmpty()) {
+			return;
+		}
+		try {
+			List<String> keys = new ArrayList<>(orderedNums.size() * 2);
+			orderedNums.forEach(n -> keys.add(detailKey(n)));
+			orderedNums.forEach(n -> keys.add(generationKey(n)));
+			// 세대 키는 가장 긴 TTL보다 오래 남겨서 진행 중인 조회가 이전 세대로 저장하지 못하게 함
+			Long deleted = redisTemplate.execute(EVICT_AND_BUMP, keys,
+					String.valueOf(settledTtl.plus(ttl).toMillis()));
+			evictions.addAndGet(deleted == null ? 0 : deleted);
+		} catch (Exception e) {
+			// 삭제하지 못한 항목은 TTL이 지나면 만료됨
+			failed("삭제", e);
+		}
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		long hitCount = hits.get();
+		long missCount = misses.get();
+		result.put("enabled", enabled);
+		result.put("available", available());
+		result.put("hitCount", hitCount);
+		result.put("missCount", missCount);
+		result.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+		result.put("putCount", puts.get());
+		// 조회하는 동안 상태가 바뀌어서 저장하지 않은 횟수
+		result.put("staleSkipCount", staleSkips.get());
+		result.put("evictionCount", evictions.get());
+		result.put("errorCount", errors.get());
+		return result;
+	}
+
+	// 같은 주문의 키는 hash tag로 같은 slot에 둠 (스크립트에서 함께 사용)
+	private static String detailKey(String orderedNum) {
+		return KEY_PREFIX + "{" + orderedNum + "}";
+	}
+
+	private static String generationKey(String orderedNum) {
+		return KEY_PREFIX + "{" + orderedNum + "}:gen";
+	}
+
+	private boolean available() {
+		return enabled && System.currentTimeMillis() >= skipUntil;
+	}
+
+	private void failed(String action, Exception e) {
+		errors.incrementAndGet();
+		skipUntil = System.currentTimeMillis() + retryAfter.toMillis();
+		System.out.println("[주문 상세 캐시] Redis " + action + " 실패, " + retryAfter.toSeconds() + "초 동안 캐시 없이 동작 : "
+				+ e.getMessage());
+	}
+}
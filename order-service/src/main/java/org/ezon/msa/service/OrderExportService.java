@@ -0,0 +1,163 @@
+package org.ezon.msa.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.ezon.msa.dto.ClaimExportDto;
+import org.ezon.msa.dto.OrderItemExportDto;
+import org.ezon.msa.enums.ClaimType;
+import org.ezon.msa.enums.ExportFormat;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+
+// 주문/클레임 내역 내보내기 : 전체를 메모리에 올리지 않고 DB 커서에서 읽는 대로 응답에 쓴다
+// 엔티티가 아닌 DTO로 조회하므로 영속성 컨텍스트에 쌓이지 않는다
+@Service
+public class OrderExportService {
+
+	private static final String ITEM_QUERY = "select new org.ezon.msa.dto.OrderItemExportDto(i.orderItemId, i.orderedNum, "
+			+ "o.orderedAt, o.userId, i.sellerId, i.productId, i.productName, i.quantity, i.price, i.discountPrice, "
+			+ "i.shippingFee, i.totalAmount, i.status, i.deliveryId) "
+			+ "from OrderItem i join Order o on o.orderedNum = i.orderedNum "
+			+ "where (:sellerId is null or i.sellerId = :sellerId) "
+			+ "and (:from is null or o.orderedAt >= :from) and (:to is null or o.orderedAt < :to) "
+			+ "order by i.orderItemId";
+
+	private static final String CLAIM_QUERY = "select new org.ezon.msa.dto.ClaimExportDto(c.claimId, c.orderItemId, "
+			+ "i.orderedNum, c.userId, i.sellerId, i.productName, i.totalAmount, c.type, c.status, c.reason, "
+			+ "c.claimedAt, c.processedAt) "
+			+ "from Claim c join OrderItem i on i.orderItemId = c.orderItemId "
+			+ "where (:sellerId is null or i.sellerId = :sellerId) and (:type is null or c.type = :type) "
+			+ "and (:from is null or c.claimedAt >= :from) and (:to is null or c.claimedAt < :to) "
+			+ "order by c.claimId";
+
+	private static final List<String> ITEM_COLUMNS = List.of("orderItemId", "orderedNum", "orderedAt", "buyerId",
+			"sellerId", "productId", "productName", "quantity", "price", "discountPrice", "shippingFee", "totalAmount",
+			"status", "deliveryId");
+
+	private static final List<String> CLAIM_COLUMNS = List.of("claimId", "orderItemId", "orderedNum", "buyerId",
+			"sellerId", "productName", "amount", "type", "status", "reason", "claimedAt", "processedAt");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// MySQL은 Integer.MIN_VALUE일 때 한 줄씩 스트리밍 (양수는 useCursorFetch=true일 때만 커서로 나눠 읽음)
+	@Value("${order.export.fetchSize:-2147483648}")
+	private int fetchSize;
+
+	// 이 건수마다 응답으로 내보냄
+	@Value("${order.export.flushRows:1000}")
+	private int flushRows;
+
+	// 기간은 startDate 이상 endDate 다음날 미만, sellerId가 없으면 전체 (관리자)
+	@Transactional
+	public long exportItems(Long sellerId, LocalDate startDate, LocalDate endDate, ExportFormat format,
+			OutputStream out) throws IOException {
+		TypedQuery<OrderItemExportDto> query = entityManager.createQuery(ITEM_QUERY, OrderItemExportDto.class)
+				.setParameter("sellerId", sellerId);
+		setRange(query, startDate, endDate);
+		try (Stream<OrderItemExportDto> rows = stream(query)) {
+			return write(rows, format, ITEM_COLUMNS, r -> Arrays.asList(r.getOrderItemId(), r.getOrderedNum(),
+					r.getOrderedAt(), r.getBuyerId(), r.getSellerId(), r.getProductId(), r.getProductName(),
+					r.getQuantity(), r.getPrice(), r.getDiscountPrice(), r.getShippingFee(), r.getTotalAmount(),
+					r.getStatus(), r.getDeliveryId()), out);
+		}
+	}
+
+	@Transactional
+	public long exportClaims(Long sellerId, ClaimType type, LocalDate startDate, LocalDate endDate,
+			ExportFormat format, OutputStream out) throws IOException {
+		TypedQuery<ClaimExportDto> query = entityManager.createQuery(CLAIM_QUERY, ClaimExportDto.class)
+				.setParameter("sellerId", sellerId)
+				.setParameter("type", type);
+		setRange(query, startDate, endDate);
+		try (Stream<ClaimExportDto> rows = stream(query)) {
+			return write(rows, format, CLAIM_COLUMNS, r -> Arrays.asList(r.getClaimId(), r.getOrderItemId(),
+					r.getOrderedNum(), r.getBuyerId(), r.getSellerId(), r.getProductName(), r.getAmount(),
+					r.getType(), r.getStatus(), r.getReason(), r.getClaimedAt(), r.getProcessedAt()), out);
+		}
+	}
+
+	private static void setRange(TypedQuery<?> query, LocalDate startDate, LocalDate endDate) {
+		query.setParameter("from", startDate == null ? null : startDate.atStartOfDay());
+		query.setParameter("to", endDate == null ? null : endDate.plusDays(1).atStartOfDay());
+	}
+
+	private <T> Stream<T> stream(TypedQuery<T> query) {
+		return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+				.setHint(HibernateHints.HINT_READ_ONLY, true)
+				.setHint(HibernateHints.HINT_CACHEABLE, false)
+				.getResultStream();
+	}
+
+	private <T> long write(Stream<T> rows, ExportFormat format, List<String> columns,
+			Function<T, List<Object>> values, OutputStream out) throws IOException {
+		// out은 응답 스트림이므로 닫지 않고 flush만 한다
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		if (format == ExportFormat.CSV) {
+			writer.write('\uFEFF');
+			writeCsvLine(writer, columns);
+		}
+		long count = 0;
+		for (T row : (Iterable<T>) rows::iterator) {
+			if (format == ExportFormat.CSV) {
+				writeCsvLine(writer, values.apply(row));
+			} else {
+				writer.write(objectMapper.writeValueAsString(row));
+				writer.write('\n');
+			}
+			if (++count % Math.max(1, flushRows) == 0) {
+				writer.flush();
+			}
+		}
+		writer.flush();
+		return count;
+	}
+
+	private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(csv(values.get(i)));
+		}
+		writer.write("\r\n");
+	}
+
+	// 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고, 수식으로 해석될 수 있는 값은 앞에 '를 붙인다
+	private static String csv(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String s = value instanceof LocalDateTime t ? t.toString() : value.toString();
+		if (!s.isEmpty() && "=+-@".indexOf(s.charAt(0)) >= 0 && !(value instanceof Number)) {
+			s = "'" + s;
+		}
+		if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+			s = "\"" + s.replace("\"", "\"\"") + "\"";
+		}
+		return s;
+	}
+}
@@ -0,0 +1,73 @@
+package org.ezon.msa.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문번호 생성기 : yyyyMMdd(8) + 하루 중 밀리초(8) + 노드 id(3) + 같은 밀리초 안의 순번(3)
+ * <p>
+ * 노드(인스턴스)마다 order.nodeId를 다르게 두면 여러 인스턴스에서도 겹치지 않고,
+ * 한 노드 안에서는 락 없이(CAS) 항상 증가하는 번호를 만든다.
+ * 시계가 뒤로 가면 마지막으로 사용한 시각을 계속 쓰고, 한 밀리초에 순번 1000개를 다 쓰면 다음 밀리초를 미리 사용한다.
+ */
+@Component
+public class OrderNumberGenerator {
+
+	private static final int MAX_NODE_ID = 999;
+	private static final int SEQUENCE_SIZE = 1000;
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	private final int nodeId;
+	private final Clock clock;
+	// 마지막으로 발급한 (논리 시각(ms) * SEQUENCE_SIZE + 순번)
+	private final AtomicLong last = new AtomicLong();
+
+	@Autowired
+	public OrderNumberGenerator(@Value("${order.nodeId:0}") int nodeId,
+			@Value("${order.orderNum.zone:Asia/Seoul}") String zone) {
+		this(nodeId, Clock.system(ZoneId.of(zone)));
+	}
+
+	OrderNumberGenerator(int nodeId, Clock clock) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("order.nodeId must be between 0 and " + MAX_NODE_ID + " : " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.clock = clock;
+	}
+
+	public String next() {
+		long now = clock.millis();
+		while (true) {
+			long prev = last.get();
+			long prevMillis = prev / SEQUENCE_SIZE;
+			long next;
+			if (now > prevMillis) {
+				next = now * SEQUENCE_SIZE;
+			} else if (prev % SEQUENCE_SIZE < SEQUENCE_SIZE - 1) {
+				// 같은 밀리초이거나 시계가 뒤로 간 경우 : 마지막 시각에서 순번만 증가
+				next = prev + 1;
+			} else {
+				next = (prevMillis + 1) * SEQUENCE_SIZE;
+			}
+			if (last.compareAndSet(prev, next)) {
+				return format(next / SEQUENCE_SIZE, (int) (next % SEQUENCE_SIZE));
+			}
+		}
+	}
+
+	private String format(long millis, int sequence) {
+		LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), clock.getZone());
+		long millisOfDay = time.toLocalTime().toNanoOfDay() / 1_000_000L;
+		return DATE_FORMAT.format(time)
+				+ String.format("%08d%03d%03d", millisOfDay, nodeId, sequence);
+	}
+}
@@ -1,18 +1,23 @@
 package org.ezon.msa.service;
 
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import org.ezon.msa.Pagination;
 import org.ezon.msa.dto.AddressDto;
 import org.ezon.msa.dto.ClaimDto;
 import org.ezon.msa.dto.ClaimRequestDto;
@@ -22,27 +27,42 @@ import org.ezon.msa.dto.OrderDetailDto;
 import org.ezon.msa.dto.OrderItemDto;
 import org.ezon.msa.dto.OrderRequestDto;
 import org.ezon.msa.dto.OrderResponseDto;
+import org.ezon.msa.dto.PageResponse;
 import org.ezon.msa.dto.ProductDto;
 import org.ezon.msa.dto.UserDto;
 import org.ezon.msa.entity.Claim;
 import org.ezon.msa.entity.Order;
 import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.enums.ClaimEvent;
 import org.ezon.msa.enums.ClaimStatus;
 import org.ezon.msa.enums.ClaimType;
 import org.ezon.msa.enums.DeliveryStatus;
+import org.ezon.msa.enums.OrderEvent;
 import org.ezon.msa.enums.OrderStatus;
+import org.ezon.msa.enums.OutboxType;
+import org.ezon.msa.event.ClaimRequestedEvent;
+import org.ezon.msa.event.OrderCreatedEvent;
+import org.ezon.msa.event.OrderEventBus;
+import org.ezon.msa.exception.DuplicatePaymentException;
+import org.ezon.msa.exception.IllegalStatusTransitionException;
 import org.ezon.msa.repository.ClaimRepository;
 import org.ezon.msa.repository.OrderItemRepository;
 import org.ezon.msa.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import jakarta.transaction.Transactional;
@@ -62,148 +82,260 @@ public class OrderService {
 	@Autowired
 	private ClaimRepository claimRepository; 
 	
+	@Autowired
+	private ProductLookupService productLookupService;
+	
+	@Autowired
+	private RemoteLookupCache remoteLookupCache;
+	
+	@Autowired
+	private RequestMemo requestMemo;
+	
+	@Autowired
+	private SellerCounterService sellerCounterService;
+	
+	@Autowired
+	private OrderNumberGenerator orderNumberGenerator;
+	
+	@Autowired
+	private OutboxService outboxService;
+	
+	@Autowired
+	private PaymentIdFilter paymentIdFilter;
+
+	@Autowired
+	private OrderStateMachine orderStateMachine;
+
+	@Autowired
+	private OrderDetailCache orderDetailCache;
+
+	@Autowired
+	private OrderEventBus orderEventBus;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	@Qualifier("remoteCallExecutor")
+	private Executor remoteCallExecutor;
+	
+	@Value("${order.detail.timeoutMs:3000}")
+	private long detailTimeoutMs;
+	
 	// ✅ 주문/배송 상태만 필터링할 때 사용하는 상수 집합
     private static final Set<String> ORDER_STATUSES = Set.of(
         "PAID", "READY_SHIPMENT", "SHIPPED", "DELIVERED", "PURCHASE_CONFIRMED"
     );
+    private static final Set<OrderStatus> ORDER_STATUS_VALUES = ORDER_STATUSES.stream()
+    	.map(OrderStatus::valueOf).collect(Collectors.toUnmodifiableSet());
     
     // ✅ 취소/환불/교환 상태만 필터링할 때 사용하는 상수 집합
     private static final Set<String> CLAIM_STATUSES = Set.of(
         "CANCELLED", "REFUND_REQUESTED", "REFUND_APPROVED", "REFUND_REJECTED", 
         "EXCHANGE_REQUESTED", "EXCHANGE_APPROVED", "EXCHANGE_REJECTED"
     );
+    private static final Set<OrderStatus> CLAIM_STATUS_VALUES = CLAIM_STATUSES.stream()
+    	.map(OrderStatus::valueOf).collect(Collectors.toUnmodifiableSet());
 	
-	@Transactional
+	// 상품 조회(판매자 id)는 트랜잭션 밖에서 먼저 하고, 주문 저장과 outbox 기록만 한 트랜잭션으로 처리
 	public OrderResponseDto createOrder(OrderRequestDto req) {
 		try {
-			// 이미 주문된 paymentId인지 확인
-			boolean exists = orderRepository.existsByPaymentId(req.getPaymentId());
-			if (exists) {
-				throw new IllegalStateException("이미 처리된 결제입니다.");
+			// 이미 주문된 paymentId인지 확인 (필터에 없으면 처음 보는 결제라 DB 조회 생략)
+			// 같은 결제로 다시 요청하면 보상 없이 원래 주문번호를 돌려줌
+			if (paymentIdFilter.mightContain(req.getPaymentId())) {
+				Order existing = orderRepository.findByPaymentId(req.getPaymentId()).orElse(null);
+				if (existing != null) {
+					return OrderResponseDto.builder()
+							.orderedNum(existing.getOrderedNum())
+							.build();
+				}
 			}
 			
-			String orderNum = generateOrderNum();
-			
-			List<OrderItemDto> itemDtos = req.getItems().stream()
-					.map(item -> {
-						int appliedPrice = item.getDiscountPrice() > 0 ? item.getDiscountPrice() : item.getPrice();
-						int totalAmount = appliedPrice * item.getQuantity() + item.getShippingFee();
-						item.setOrderedNum(orderNum);
-						item.setTotalAmount(totalAmount);
-						return item;
-					}).collect(Collectors.toList());
+			// 판매자 id는 상품 정보에서 한 번에 조회 (캐시, 조회하지 못한 판매자는 SellerIdBackfillJob이 채움)
+			Map<Long, ProductDto> products = productLookupService.findProducts(
+					req.getItems().stream().map(OrderItemDto::getProductId).toList());
 			
-			int totalAmount = itemDtos.stream().mapToInt(OrderItemDto::getTotalAmount).sum();
-			
-			System.out.println("orderNum: " + orderNum); // null 아니어야 함
-			Order order = Order.builder()
-					.orderedNum(orderNum)
-					.userId(req.getUserId())
-					.paymentId(req.getPaymentId())
-					.addressId(req.getAddressId())
-					.orderedAt(LocalDateTime.now())
-					.totalAmount(totalAmount)
-					.build();
-			System.out.println("Order 저장 전: " + order.getOrderedNum()); // null 아니어야 함
-			try {
-				order = orderRepository.save(order);
-			} catch (DataIntegrityViolationException e) {
-				throw new IllegalStateException("주문에 실패했습니다.");
-			}
-			System.out.println("Order 저장됨: " + order);
-			
-			for (OrderItemDto itemDto : itemDtos) {
-				OrderItem item = OrderItem.builder()
-						.orderedNum(orderNum)
-						.userId(req.getUserId())
-						.productId(itemDto.getProductId())
-						.productName(itemDto.getProductName())
-						.quantity(itemDto.getQuantity())
-						.price(itemDto.getPrice())
-						.discountPrice(itemDto.getDiscountPrice())
-						.shippingFee(itemDto.getShippingFee())
-						.totalAmount(itemDto.getTotalAmount())
-						.status(OrderStatus.PAID)
-						.build(); 
-				System.out.println("OrderItem 저장 전: " + item);
-				orderItemRepository.save(item);
+			// 커밋까지 try 안에서 끝나므로 커밋 중 오류도 보상 대상
+			return transactionTemplate.execute(status -> saveOrder(req, products));
+		}catch(DuplicatePaymentException e) {
+			throw e;
+		}catch(DataIntegrityViolationException e) {
+			// 제약 이름을 확인할 수 없는 경우(이름 없이 만들어진 기존 unique 인덱스 등) 롤백 후 같은 결제의 주문이 있으면 중복 결제
+			if (orderRepository.findByPaymentId(req.getPaymentId()).isPresent()) {
+				throw new DuplicatePaymentException(req.getPaymentId(), e);
 			}
-			
-			// ★ 결제서비스에 주문번호 update API 호출 (RestTemplate)
-			updatePaymentOrderNum(req.getPaymentId(), orderNum);
-			
-			OrderResponseDto dto = OrderResponseDto.builder()
-					.orderedNum(orderNum)
-					.build();
-			System.out.println("OrderResponseDto: " + dto);
-			
-			return dto;
+			compensateExternal(req.getAddressId(), req.getPaymentId());
+			throw new RuntimeException("주문 생성 중 예외 발생", e);
 		}catch(Exception e) {
 			compensateExternal(req.getAddressId(), req.getPaymentId());
 			throw new RuntimeException("주문 생성 중 예외 발생", e);
 		}
 	}
 	
+	// DB마다 제약 이름 형식이 달라서 (예: order.uk_order_payment_id) 포함 여부로 확인
+	private static boolean isPaymentIdViolation(DataIntegrityViolationException e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+				return cve.getConstraintName().toLowerCase().contains(Order.PAYMENT_ID_CONSTRAINT);
+			}
+		}
+		return false;
+	}
+	
+	private OrderResponseDto saveOrder(OrderRequestDto req, Map<Long, ProductDto> products) {
+		String orderNum = generateOrderNum();
+		
+		List<OrderItemDto> itemDtos = req.getItems().stream()
+				.map(item -> {
+					int appliedPrice = item.getDiscountPrice() > 0 ? item.getDiscountPrice() : item.getPrice();
+					int totalAmount = appliedPrice * item.getQuantity() + item.getShippingFee();
+					item.setOrderedNum(orderNum);
+					item.setTotalAmount(totalAmount);
+					return item;
+				}).collect(Collectors.toList());
+		
+		int totalAmount = itemDtos.stream().mapToInt(OrderItemDto::getTotalAmount).sum();
+		
+		System.out.println("orderNum: " + orderNum); // null 아니어야 함
+		Order order = Order.builder()
+				.orderedNum(orderNum)
+				.userId(req.getUserId())
+				.paymentId(req.getPaymentId())
+				.addressId(req.getAddressId())
+				.orderedAt(LocalDateTime.now())
+				.totalAmount(totalAmount)
+				.build();
+		System.out.println("Order 저장 전: " + order.getOrderedNum()); // null 아니어야 함
+		try {
+			// 동시에 들어온 같은 결제는 여기서 payment_id unique 제약으로 걸러짐
+			order = orderRepository.saveAndFlush(order);
+		} catch (DataIntegrityViolationException e) {
+			// payment_id unique 제약 위반만 중복 결제 (주문번호 충돌, NOT NULL 위반 등은 그대로 던져서 보상)
+			if (isPaymentIdViolation(e)) {
+				throw new DuplicatePaymentException(req.getPaymentId(), e);
+			}
+			throw e;
+		}
+		paymentIdFilter.put(order.getPaymentId());
+		System.out.println("Order 저장됨: " + order);
+		
+		List<OrderItem> items = new ArrayList<>(itemDtos.size());
+		for (OrderItemDto itemDto : itemDtos) {
+			OrderItem item = OrderItem.builder()
+					.orderedNum(orderNum)
+					.userId(req.getUserId())
+					.sellerId(parseSellerId(products.get(itemDto.getProductId())))
+					.orderedAt(order.getOrderedAt())
+					.productId(itemDto.getProductId())
+					.productName(itemDto.getProductName())
+					.quantity(itemDto.getQuantity())
+					.price(itemDto.getPrice())
+					.discountPrice(itemDto.getDiscountPrice())
+					.shippingFee(itemDto.getShippingFee())
+					.totalAmount(itemDto.getTotalAmount())
+					.status(OrderStatus.PAID)
+					.build(); 
+			System.out.println("OrderItem 저장 전: " + item);
+			items.add(item);
+		}
+		// id를 미리 할당받아 두므로 INSERT는 hibernate.jdbc.batch_size 단위로 묶여서 실행됨
+		// 여기서 바로 flush해서 제약/DB 오류가 보상 처리되는 try 안에서 드러나게 함
+		orderItemRepository.saveAllAndFlush(items);
+		for (OrderItem item : items) {
+			sellerCounterService.itemStatusChanged(item, null, OrderStatus.PAID);
+		}
+		orderEventBus.publishAfterCommit(new OrderCreatedEvent(orderNum, order.getUserId(), order.getPaymentId(),
+				totalAmount, items.stream().map(OrderItem::getOrderItemId).toList(), order.getOrderedAt()));
+		
+		// ★ 결제서비스에 주문번호 update API 호출 (outbox에 기록, 커밋 후 OutboxRelay가 전송)
+		updatePaymentOrderNum(req.getPaymentId(), orderNum);
+		
+		OrderResponseDto dto = OrderResponseDto.builder()
+				.orderedNum(orderNum)
+				.build();
+		System.out.println("OrderResponseDto: " + dto);
+		
+		return dto;
+	}
+	
+	// 같은 결제로 이미 생성된 주문의 응답 (createOrder가 DuplicatePaymentException으로 롤백된 뒤 호출)
+	public OrderResponseDto getOrderResponseByPaymentId(Long paymentId) {
+		return orderRepository.findByPaymentId(paymentId)
+				.map(order -> OrderResponseDto.builder()
+						.orderedNum(order.getOrderedNum())
+						.build())
+				.orElse(null);
+	}
+	
+	// 주문 트랜잭션은 롤백되므로 보상 요청은 별도 트랜잭션으로 outbox에 남김 (실패해도 재시도)
 	public void compensateExternal(Long addressId, Long paymentId) {
-        try {
-            restTemplate.delete("http://localhost:8080/api/delivery/user/" + addressId);
-        } catch (Exception e) {
-        	System.out.println("[삭제 실패](151번째 줄) : " + e.getMessage());
-            //log.warn("배송지 삭제 실패 (addressId={})", addressId, e);
-        }
-        try {
-        	restTemplate.delete("http://localhost:8080/api/payment/" + paymentId);
-        } catch (Exception e) {
-        	System.out.println("[삭제 실패](157번째 줄) : " + e.getMessage());
-            //log.warn("결제 삭제 실패 (paymentId={})", paymentId, e);
-        }
+		outboxService.enqueueNew(OutboxType.COMPENSATE_ADDRESS, addressId, HttpMethod.DELETE,
+				"http://localhost:8080/api/delivery/user/" + addressId, null);
+		outboxService.enqueueNew(OutboxType.COMPENSATE_PAYMENT, paymentId, HttpMethod.DELETE,
+				"http://localhost:8080/api/payment/" + paymentId, null);
     }
 	
     public OrderDetailDto getOrderDetail(String orderedNum) {
+        // 다른 인스턴스가 만든 결과도 Redis에서 공유 (상세 내역 상태가 바뀌면 커밋 후 삭제됨)
+        // 세대는 DB 조회 전에 읽어 두고, 저장할 때 그 사이에 삭제가 있었는지 확인
+        OrderDetailCache.Lookup cached = orderDetailCache.get(orderedNum);
+        if (cached.detail() != null) {
+        	return cached.detail();
+        }
         Order order = orderRepository.findById(orderedNum)
             .orElseThrow(() -> new RuntimeException("주문 정보 없음"));
         List<OrderItem> items = orderItemRepository.findByOrderedNum(orderedNum);
         
-        // 1. 주소 조회 (배송 서비스)
-        AddressDto address;
-        String addrUrl = "http://localhost:10500/api/delivery/user/" + order.getAddressId();
-        try {
-        	ResponseEntity<AddressDto> addrRes = restTemplate.getForEntity(addrUrl, AddressDto.class);
-        	address = addrRes.getBody();
-        } catch(Exception e) {
-        	address = AddressDto.builder()
-        			.recipientName("정혜성")
-                    .recipientTel("010-1234-5678")
-                    .recipientAddr1("서울시 강남구")
-                    .recipientAddr2("테스트타워 101호")
-                    .recipientZipcode("12345")
-                    .recipientReq("문 앞에 놔주세요")
-        			.build();
-        	System.out.println("[배송서비스 주소 API 연결 실패] 기본 주소로 대체됨");
+        // 서로 독립적인 외부 호출(주소, cardType, 상품, 상호명)은 동시에 요청하고 전체 제한시간까지만 기다린다
+        // 풀이 가득 차서 거절된 호출과 제한시간 안에 끝나지 않은 호출(취소됨)은 기본값으로 대체
+        CompletableFuture<AddressDto> addressFuture = RemoteCalls.submit(remoteCallExecutor,
+        		() -> getAddress(order.getAddressId()));
+        CompletableFuture<String> cardTypeFuture = RemoteCalls.submit(remoteCallExecutor,
+        		() -> findCardType(order.getPaymentId()));
+        CompletableFuture<Map<Long, ProductDto>> productsFuture = RemoteCalls.submit(remoteCallExecutor,
+        		() -> productLookupService.findProducts(items.stream().map(OrderItem::getProductId).toList()));
+        Map<Long, CompletableFuture<String>> companyNameFutures = new HashMap<>();
+        for (OrderItem item : items) {
+        	companyNameFutures.computeIfAbsent(item.getUserId(), id -> RemoteCalls.submit(remoteCallExecutor,
+        			() -> getCompanyName(id)));
+        }
+        
+        List<CompletableFuture<?>> futures = new ArrayList<>(companyNameFutures.values());
+        futures.add(addressFuture);
+        futures.add(cardTypeFuture);
+        futures.add(productsFuture);
+        if (!RemoteCalls.awaitAll(futures, detailTimeoutMs)) {
+        	System.out.println("[주문 상세 외부 호출 시간 초과] 완료되지 않은 항목은 기본값으로 대체됨 : " + orderedNum);
         }
         
+        // 1. 주소 조회 (배송 서비스)
+        AddressDto address = getNowOrDefault(addressFuture, null);
+        
         // 2. 결제정보에서 cardType 가져오기
-        String cardType = getCardType(order.getPaymentId());
+        String cardType = getNowOrDefault(cardTypeFuture, null);
         
         // 3. 주문 아이템
+        Map<Long, ProductDto> products = getNowOrDefault(productsFuture, Map.of());
+        
+        // 외부 조회가 하나라도 기본값으로 대체되면 캐시하지 않음
+        boolean complete = address != null && cardType != null && items.stream()
+        		.allMatch(item -> products.containsKey(item.getProductId())
+        				&& getNowOrDefault(companyNameFutures.get(item.getUserId()), null) != null);
+        if (address == null) {
+        	address = defaultAddress();
+        }
+        if (cardType == null) {
+        	cardType = "정보없음";
+        }
         List<OrderItemDto> itemDtos = items.stream().map(item -> {
         	// 상품 정보 조회
-        	ProductDto product;
-            String prodUrl = "http://localhost:10100/api/products/" + item.getProductId();
-            
-        	ResponseEntity<ProductDto> prodRes = restTemplate.getForEntity(prodUrl, ProductDto.class);
-        	product = prodRes.getBody();
-        	System.out.println("상품API: " + prodRes);
+        	ProductDto product = products.getOrDefault(item.getProductId(),
+        			ProductDto.builder().name("테스트상품").image("").build());
         	
             // 판매자 상호명 조회
-            String userUrl = "http://localhost:10000/api/users/" + item.getUserId() + "/company-name";
-            String companyName;
-            try {            	
-            	ResponseEntity<String> companyRes = restTemplate.getForEntity(userUrl, String.class);
-            	companyName = companyRes.getBody();
-            } catch(Exception e) {
+            String companyName = getNowOrDefault(companyNameFutures.get(item.getUserId()), null);
+            if (companyName == null) {
             	companyName = "주식회사 베스트커머스";
-            	System.out.println("[회원서비스 주소 API 연결 실패] 임시 회사 이름 주입(221번쨰 줄)");
             }
             
             return OrderItemDto.builder()
@@ -255,7 +387,7 @@ public class OrderService {
             .sum();
         
         int cancelTotalAmount = cancelItemsTotal + cancelShippingTotal;
-        return OrderDetailDto.builder()
+        OrderDetailDto result = OrderDetailDto.builder()
         	    .order(orderDto)
         	    .items(itemDtos)
         	    .address(address)
@@ -266,10 +398,107 @@ public class OrderService {
         	    .cancelTotalAmount(cancelTotalAmount)
         	    .cardType(cardType)
         	    .build();
+        if (complete) {
+        	// 모든 상세 내역이 더 바뀌지 않는 상태면 더 오래 보관
+        	boolean settled = !items.isEmpty() && items.stream()
+        			.allMatch(item -> OrderStateMachine.eventsFrom(item.getStatus()).isEmpty());
+        	orderDetailCache.put(orderedNum, cached.generation(), result, settled);
+        }
+        return result;
+    }
+    // 주문 목록의 상세 내역을 한 번의 쿼리로 조회 (주문번호별로 묶음)
+    private Map<String, List<OrderItem>> findItemsByOrders(List<Order> orders) {
+    	Map<String, List<OrderItem>> result = new LinkedHashMap<>();
+    	for (Order order : orders) {
+    		result.put(order.getOrderedNum(), new ArrayList<>());
+    	}
+    	if (result.isEmpty()) {
+    		return result;
+    	}
+    	for (OrderItem item : orderItemRepository.findByOrderedNumIn(result.keySet())) {
+    		result.get(item.getOrderedNum()).add(item);
+    	}
+    	return result;
+    }
+    // 구매자 주문 목록 조건 조회 (주문번호별로 묶음, 주문번호 순서 유지)
+    // startDate/endDate는 둘 다 있을 때만, status는 allowed 안의 값일 때만 적용
+    private Map<String, List<OrderItem>> findBuyerItems(Long userId, LocalDate startDate, LocalDate endDate,
+    		Set<OrderStatus> allowed, String status, String keyword) {
+    	Set<OrderStatus> statuses = allowed;
+    	if (status != null && !status.isBlank()) {
+    		statuses = allowed.stream().filter(s -> s.name().equals(status)).collect(Collectors.toSet());
+    		if (statuses.isEmpty()) {
+    			return new LinkedHashMap<>();
+    		}
+    	}
+    	LocalDateTime from = null;
+    	LocalDateTime to = null;
+    	if (startDate != null && endDate != null) {
+    		from = startDate.atStartOfDay();
+    		to = endDate.plusDays(1).atStartOfDay();
+    	}
+    	String productName = keyword != null && !keyword.isBlank() ? keyword : null;
+    	
+    	Map<String, List<OrderItem>> result = new LinkedHashMap<>();
+    	for (OrderItem item : orderItemRepository.findBuyerItems(userId, statuses, from, to, productName)) {
+    		result.computeIfAbsent(item.getOrderedNum(), k -> new ArrayList<>()).add(item);
+    	}
+    	return result;
+    }
+    // 주문번호 순서대로 주문 조회
+    private List<Order> findOrders(Collection<String> orderedNums) {
+    	if (orderedNums.isEmpty()) {
+    		return List.of();
+    	}
+    	Map<String, Order> orders = orderRepository.findByOrderedNumIn(new HashSet<>(orderedNums)).stream()
+    			.collect(Collectors.toMap(Order::getOrderedNum, o -> o));
+    	return orderedNums.stream().map(orders::get).filter(Objects::nonNull).toList();
+    }
+    // 배송지 조회, 실패 시 null (호출하는 쪽에서 기본 주소로 대체)
+    private AddressDto getAddress(Long addressId) {
+        String addrUrl = "http://localhost:10500/api/delivery/user/" + addressId;
+        try {
+        	ResponseEntity<AddressDto> addrRes = restTemplate.getForEntity(addrUrl, AddressDto.class);
+        	return addrRes.getBody();
+        } catch(Exception e) {
+        	System.out.println("[배송서비스 주소 API 연결 실패] 기본 주소로 대체됨");
+        	return null;
+        }
+    }
+    private AddressDto defaultAddress() {
+    	return AddressDto.builder()
+    			.recipientName("정혜성")
+                .recipientTel("010-1234-5678")
+                .recipientAddr1("서울시 강남구")
+                .recipientAddr2("테스트타워 101호")
+                .recipientZipcode("12345")
+                .recipientReq("문 앞에 놔주세요")
+    			.build();
+    }
+    // 아직 끝나지 않았거나 실패한 호출은 기본값으로 대체
+    private <T> T getNowOrDefault(CompletableFuture<T> future, T defaultValue) {
+    	if (future == null) {
+    		return defaultValue;
+    	}
+    	try {
+    		T value = future.getNow(defaultValue);
+    		return value != null ? value : defaultValue;
+    	} catch (Exception e) {
+    		return defaultValue;
+    	}
     }
     private String getCardType(Long id) {
+    	String cardType = findCardType(id);
+    	return cardType != null ? cardType : "정보없음";
+    }
+    // 실패 시 null
+    private String findCardType(Long id) {
+    	return id != null ? requestMemo.get("cardType", id,
+    			() -> remoteLookupCache.cardTypes().get(id, this::fetchCardType)) : null;
+    }
+    // 실패 시 null (기본값은 캐시하지 않음)
+    private String fetchCardType(Long id) {
     	String paymentUrl = "http://localhost:10400/api/payment/" + id;
-        String cardType;
         try {
             ResponseEntity<Map<String, Object>> payRes = restTemplate.exchange(
                 paymentUrl,
@@ -278,90 +507,79 @@ public class OrderService {
                 new ParameterizedTypeReference<Map<String, Object>>() {}
             );
             Map<String, Object> paymentMap = payRes.getBody();
-            cardType = (String) paymentMap.getOrDefault("cardType", "정보없음");
+            return (String) paymentMap.getOrDefault("cardType", "정보없음");
         } catch (Exception e) {
-            cardType = "정보없음";
             System.out.println("[결제서비스 연결 실패] 기본 cardType으로 대체됨");
+            return null;
         }
-        return cardType;
     }
-    public List<OrderDetailDto> getUserOrders(Long userId, LocalDate startDate, LocalDate endDate, String status, String keyword) {
-        List<Order> orders = orderRepository.findByUserId(userId);
-        
-        if(startDate != null && endDate != null) {
-        	orders = orders.stream().filter(o -> {
-        		LocalDate orderedDate = o.getOrderedAt().toLocalDate();
-        		return !orderedDate.isBefore(startDate) && !orderedDate.isAfter(endDate);
-        	}).toList();
+    // 판매자 상호명 조회, 실패 시 null
+    private String getCompanyName(Long userId) {
+    	return userId != null ? requestMemo.get("companyName", userId,
+    			() -> remoteLookupCache.companyNames().get(userId, this::fetchCompanyName)) : null;
+    }
+    private String fetchCompanyName(Long userId) {
+    	String userUrl = "http://localhost:10000/api/users/" + userId + "/company-name";
+    	try {
+    		return restTemplate.getForEntity(userUrl, String.class).getBody();
+    	} catch(Exception e) {
+    		System.out.println("[회원서비스 상호명 API 연결 실패] userId : " + userId);
+    		return null;
+    	}
+    }
+    // 주문 목록(구매자/관리자) 상세 내역 : 판매자 id는 상품서비스의 userId (숫자가 아니면 판매자 정보 없이)
+    private OrderItemDto toOrderItemDto(OrderItem item, Map<Long, ProductDto> products, String buyerName, String cardType) {
+        ProductDto product = products.getOrDefault(item.getProductId(),
+        		ProductDto.builder().name("테스트상품").image("").build());
+        // 판매자 상호명 조회
+        Long sellerId = parseSellerId(product);
+        String companyName = getCompanyName(sellerId);
+        if (companyName == null) {
+        	companyName = "주식회사 베스트커머스";
         }
         
+        String sellerName = getUserName(sellerId);
+        return OrderItemDto.builder()
+        		.orderItemId(item.getOrderItemId())
+                .productId(item.getProductId())
+                .orderedNum(item.getOrderedNum())
+                .productName(product.getName())
+                .image(product.getImage())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .discountPrice(item.getDiscountPrice())
+                .shippingFee(item.getShippingFee())
+                .totalAmount(item.getTotalAmount())
+                .status(item.getStatus().name())
+                .sellerName(sellerName)
+                .buyerName(buyerName)
+                .userId(item.getUserId())
+                .cardType(cardType)
+                .companyName(companyName)
+                .build();
+    }
+    public List<OrderDetailDto> getUserOrders(Long userId, LocalDate startDate, LocalDate endDate, String status, String keyword) {
+        // 기간/상태/상품명 조건은 DB에서 걸러서 실제로 반환될 상세 내역만 외부 조회
+        Map<String, List<OrderItem>> itemsByOrder = findBuyerItems(userId, startDate, endDate,
+        		ORDER_STATUS_VALUES, status, keyword);
+        List<Order> orders = findOrders(itemsByOrder.keySet());
+        
         List<OrderDetailDto> result = new ArrayList<>();
 
+        Map<Long, ProductDto> products = productLookupService.findProducts(
+        		itemsByOrder.values().stream().flatMap(List::stream).map(OrderItem::getProductId).toList());
+
         for (Order order : orders) {
-            List<OrderItem> items = orderItemRepository.findByOrderedNum(order.getOrderedNum());
+            List<OrderItem> items = itemsByOrder.get(order.getOrderedNum());
+            // 주문 단위 정보는 상품마다 다시 조회하지 않음
+            String buyerName = getUserName(order.getUserId());
+            String cardType = getCardType(order.getPaymentId());
 
             // 상품/판매자정보 조합 (상세 참고)
-            List<OrderItemDto> itemDtos = items.stream().map(item -> {
-                ProductDto product;
-                String prodUrl = "http://localhost:10100/api/products/" + item.getProductId();
-                try {
-                    ResponseEntity<ProductDto> prodRes = restTemplate.getForEntity(prodUrl, ProductDto.class);
-                    product = prodRes.getBody();
-                } catch (Exception e) {
-                    product = ProductDto.builder().name("테스트상품").image("").build();
-                }
-                // 판매자 상호명 조회
-                String userUrl = "http://localhost:10000/api/users/company-name";
-                String companyName;
-                
-                try {            	
-                	ResponseEntity<String> companyRes = restTemplate.exchange(
-                			userUrl,
-                			HttpMethod.GET,
-                			new HttpEntity<String>(product.getUserId()),
-                			String.class
-                	);
-                	companyName = companyRes.getBody();
-                } catch(Exception e) {
-                	System.out.println("[RestTemplate 오류 발생] => 임시 회사 이름 주입(325번째 줄)");
-                	companyName = "주식회사 베스트커머스";
-                }
-                
-                String sellerName = getUserName(Long.parseLong(product.getUserId()));
-                String buyerName = getUserName(order.getUserId());
-                String cardType = getCardType(order.getPaymentId());
-                return OrderItemDto.builder()
-                		.orderItemId(item.getOrderItemId())
-                        .productId(item.getProductId())
-                        .orderedNum(item.getOrderedNum())
-                        .productName(product.getName())
-                        .image(product.getImage())
-                        .quantity(item.getQuantity())
-                        .price(item.getPrice())
-                        .discountPrice(item.getDiscountPrice())
-                        .shippingFee(item.getShippingFee())
-                        .totalAmount(item.getTotalAmount())
-                        .status(item.getStatus().name())
-                        .sellerName(sellerName)
-                        .buyerName(buyerName)
-                        .userId(item.getUserId())
-                        .cardType(cardType)
-                        .companyName(companyName)
-                        .build();
-            }).toList();
+            List<OrderItemDto> itemDtos = items.stream()
+            		.map(item -> toOrderItemDto(item, products, buyerName, cardType))
+            		.toList();
             
-            itemDtos = itemDtos.stream().filter(i -> ORDER_STATUSES.contains(i.getStatus())).toList();
-            
-            if (status != null && !status.isBlank()) {
-            	itemDtos = itemDtos.stream().filter(i -> i.getStatus().equals(status)).toList();
-            }
-
-            if (keyword != null && !keyword.isBlank()) {
-            	itemDtos = itemDtos.stream().filter(i -> i.getProductName().contains(keyword)
-            		|| i.getCompanyName().contains(keyword)
-            	).toList();
-            }
-
             if (itemDtos.isEmpty()) continue;
 
             OrderResponseDto orderDto = OrderResponseDto.builder()
@@ -388,8 +606,13 @@ public class OrderService {
         return result;
     }
     private String getUserName(Long id) {
+    	String userName = id != null ? requestMemo.get("userName", id,
+    			() -> remoteLookupCache.userNames().get(id, this::fetchUserName)) : null;
+    	return userName != null ? userName : "익명";
+    }
+    // 실패 시 null (기본값은 캐시하지 않음)
+    private String fetchUserName(Long id) {
     	String getUserIdUrl = "http://localhost:10000/api/users/" + id;
-        String userName = null;
         try {            	
         	ResponseEntity<UserDto> user = restTemplate.exchange(
         			getUserIdUrl,
@@ -397,46 +620,33 @@ public class OrderService {
         			null,
         			new ParameterizedTypeReference<UserDto> (){}
         	);
-        	userName = user.getBody().getName();
+        	return user.getBody().getName();
         } catch(Exception e) {
         	System.out.println("[RestTemplate 오류 발생] => 임시 이름 주입(400번째 줄)");
-        	userName = "익명";
+        	return null;
         }
-        return userName;
     }
     public List<OrderDetailDto> getUserOrdersByClaims(Long userId, LocalDate startDate, LocalDate endDate, String status, String keyword) {
-        List<Order> orders = orderRepository.findByUserId(userId);
-        
-        if(startDate != null && endDate != null) {
-        	orders = orders.stream().filter(o -> {
-        		LocalDate orderedDate = o.getOrderedAt().toLocalDate();
-        		return !orderedDate.isBefore(startDate) && !orderedDate.isAfter(endDate);
-        	}).toList();
-        }
+        // 기간/상태/상품명 조건은 DB에서 걸러서 실제로 반환될 상세 내역만 외부 조회
+        Map<String, List<OrderItem>> itemsByOrder = findBuyerItems(userId, startDate, endDate,
+        		CLAIM_STATUS_VALUES, status, keyword);
+        List<Order> orders = findOrders(itemsByOrder.keySet());
         
         List<OrderDetailDto> result = new ArrayList<>();
 
+        Map<Long, ProductDto> products = productLookupService.findProducts(
+        		itemsByOrder.values().stream().flatMap(List::stream).map(OrderItem::getProductId).toList());
+
         for (Order order : orders) {
-            List<OrderItem> items = orderItemRepository.findByOrderedNum(order.getOrderedNum());
+            List<OrderItem> items = itemsByOrder.get(order.getOrderedNum());
 
             // 상품/판매자정보 조합 (상세 참고)
             List<OrderItemDto> itemDtos = items.stream().map(item -> {
-                ProductDto product;
-                String prodUrl = "http://localhost:10100/api/products/" + item.getProductId();
-                try {
-                    ResponseEntity<ProductDto> prodRes = restTemplate.getForEntity(prodUrl, ProductDto.class);
-                    product = prodRes.getBody();
-                } catch (Exception e) {
-                    product = ProductDto.builder().name("테스트상품").image("").build();
-                }
+                ProductDto product = products.getOrDefault(item.getProductId(),
+                		ProductDto.builder().name("테스트상품").image("").build());
                 // 판매자 상호명 조회
-                String userUrl = "http://localhost:10000/api/users/" + item.getUserId() + "/company-name";
-                String companyName;
-                try {            	
-                	ResponseEntity<String> companyRes = restTemplate.getForEntity(userUrl, String.class);
-                	companyName = companyRes.getBody();
-                } catch(Exception e) {
-                	System.out.println("[RestTemplate 오류 발생] => 임시 회사 이름 주입(416번쨰 줄)");
+                String companyName = getCompanyName(item.getUserId());
+                if (companyName == null) {
                 	companyName = "주식회사 베스트커머스";
                 }
                 
@@ -457,18 +667,6 @@ public class OrderService {
                         .build();
             }).toList();
             
-            itemDtos = itemDtos.stream().filter(i -> CLAIM_STATUSES.contains(i.getStatus())).toList();
-            
-            if (status != null && !status.isBlank()) {
-            	itemDtos = itemDtos.stream().filter(i -> i.getStatus().equals(status)).toList();
-            }
-
-            if (keyword != null && !keyword.isBlank()) {
-            	itemDtos = itemDtos.stream().filter(i -> i.getProductName().contains(keyword)
-            		|| i.getCompanyName().contains(keyword)
-            	).toList();
-            }
-
             if (itemDtos.isEmpty()) continue;
 
             OrderResponseDto orderDto = OrderResponseDto.builder()
@@ -500,13 +698,8 @@ public class OrderService {
         OrderItem item = orderItemRepository.findById(orderItemId)
             .orElseThrow(() -> new RuntimeException("주문 항목 없음"));
 
-        OrderStatus newStatus = switch (req.getType()) {
-	        case CANCEL -> OrderStatus.CANCELLED;
-	        case REFUND -> OrderStatus.REFUND_REQUESTED;
-	        case EXCHANGE -> OrderStatus.EXCHANGE_REQUESTED;
-	    };
-	    
-	    item.setStatus(newStatus);
+        // 취소는 발송 전, 환불/교환은 배송완료 상태에서만 요청 가능 (같은 요청 중복 방지)
+        orderStateMachine.apply(item, OrderEvent.requestOf(req.getType()));
 	    orderItemRepository.save(item);
 
 	    // Claim 기록
@@ -523,86 +716,37 @@ public class OrderService {
         		.build();
         
         claimRepository.save(claim);
+        sellerCounterService.claimStatusChanged(item, claim.getType(), null, ClaimStatus.REQUESTED);
+        orderEventBus.publishAfterCommit(new ClaimRequestedEvent(claim.getClaimId(), orderItemId,
+        		item.getOrderedNum(), claim.getUserId(), claim.getType(), claim.getClaimedAt()));
     }
 
+	// 주문과 같은 트랜잭션에서 outbox에 기록 (결제서비스 응답을 기다리지 않음)
 	public void updatePaymentOrderNum(Long paymentId, String orderNum) {
 		System.out.println("orderNum: " + orderNum);
 	    String url = "http://localhost:10400/api/payment/" + paymentId + "/order-num"; // 결제서비스 주소/포트에 맞게!
-	    RestTemplate restTemplate = new RestTemplate();
-	    HttpHeaders headers = new HttpHeaders();
-	    headers.setContentType(MediaType.APPLICATION_JSON);
 
 	    // 요청 파라미터 (orderNum만 전달)
 	    // { "orderNum": "202406131234" }
-	    String body = "{\"orderNum\":\"" + orderNum + "\"}";
-	    HttpEntity<String> entity = new HttpEntity<>(body, headers);
-
-	    try {
-	        restTemplate.exchange(url, HttpMethod.PUT, entity, Void.class);
-	    } catch (Exception e) {
-	    	System.out.println("payment 수정 실패(520번째 줄) : " + e.getMessage());
-	        // RestTemplate 예외 발생 시 반드시 콘솔에 남게 한다
-	        throw e; // 다시 던지면 트랜잭션 롤백
-	    }
+	    outboxService.enqueue(OutboxType.PAYMENT_ORDER_NUM, orderNum, HttpMethod.PUT, url, Map.of("orderNum", orderNum));
 	}
 	
 	public String generateOrderNum() {
-		String date = new SimpleDateFormat("yyyyMMdd").format(new Date());
-		int rand = (int)(Math.random() * 9000) + 1000; // 1000~9999
-		
-		return date + rand;
+		return orderNumberGenerator.next();
+	}
+	
+	// 상품 정보의 판매자(userId) -> seller_id, 확인할 수 없으면 null (SellerIdBackfillJob이 다시 채움)
+	static Long parseSellerId(ProductDto product) {
+		if (product == null || product.getUserId() == null) {
+			return null;
+		}
+		try {
+			return Long.parseLong(product.getUserId());
+		} catch (NumberFormatException e) {
+			return null;
+		}
 	}
 	
-	/* added rogic */
-	private List<Long> getUserIds() {
-    	String url = "http://localhost:10000/api/userIds";
-    	RestTemplate restTemplate = new RestTemplate();
-	    List<Long> result = null;
-	    try {
-	    	ResponseEntity<List<Long>> response = restTemplate.exchange(
-	    		    url,
-	    		    HttpMethod.GET,
-	    		    null,
-	    		    new ParameterizedTypeReference<List<Long>>() {}
-	    	);
-	    	result = response.getBody();
-	    } catch (Exception e) {
-//	        e.printStackTrace();
-//	        // RestTemplate 예외 발생 시 반드시 콘솔에 남게 한다
-//	        throw e; // 다시 던지면 트랜잭션 롤백
-//			임시 userIdList 반환
-	    	System.out.println("임시 데이터 들어감(551번째 줄) : " + e.getMessage());
-	    	result = new ArrayList<>();
-	    	result.add(1L);
-	    	result.add(2L);
-	    }
-	    return result;
-    }
-    private List<Long> getProductIdsByUserId(Long userId) {
-    	String url = "http://localhost:10100/api/products/user/" + userId + "/pIdList";
-    	RestTemplate restTemplate = new RestTemplate();
-	    List<Long> result = null;
-	    try {
-	    	ResponseEntity<List<Long>> response = restTemplate.exchange(
-	    		    url,
-	    		    HttpMethod.GET,
-	    		    null,
-	    		    new ParameterizedTypeReference<List<Long>>() {}
-	    	);
-	    	result = response.getBody();
-	    } catch (Exception e) {
-//	        e.printStackTrace();
-//	        // RestTemplate 예외 발생 시 반드시 콘솔에 남게 한다
-//	        throw e; // 다시 던지면 트랜잭션 롤백
-//			임시 userIdList 반환
-	    	result = new ArrayList<>();
-	    	result.add(1L);
-	    	result.add(2L);
-	    	result.add(3L);
-	    }
-	    return result;
-    }
-    
     public List<OrderItemDto> getListByProductId(Long productId) {
         List<OrderItem> oiList = orderItemRepository.findByProductId(productId);
         List<OrderItemDto> result = new ArrayList<>();
@@ -619,20 +763,12 @@ public class OrderService {
         return result;
     }
     
-	public List<OrderDetailDto> getUserOrderList() {
-		List<Long> uIdList = getUserIds();
-		List<OrderDetailDto> result = new ArrayList<>();
-		for(Long uId : uIdList) {
-			List<OrderDetailDto> temp = getUserOrders(uId, null, null, null, null);
-			if(temp != null) {
-				for(OrderDetailDto odd : temp) {
-					result.add(odd);
-				}
-			}
-		}
-		return result;
+	// 전체 회원의 주문 목록 (회원 목록을 돌며 조회하지 않고 DB에서 페이지 단위로 조회)
+	public Page<OrderDetailDto> getUserOrderList(int page, int perPage) {
+		return getAll(page, perPage);
 	}
 
+	// 배송지/상품/배송 id 조회(외부 API)는 트랜잭션 밖에서 먼저 하고, 상태 변경과 outbox 기록만 한 트랜잭션으로 처리
 	public int updateOrderItemStatus(Long trackingNumber, Long oiId, String... strArr) {
 		int result = -1;
 		OrderItem item = orderItemRepository.findById(oiId).orElse(null);
@@ -645,116 +781,150 @@ public class OrderService {
 			System.out.println("[" + LocalDateTime.now() + "] 주문 내역 없음");
 			return result;
 		}
-		DeliveryResponseDto responDto = null;
+		OrderEvent event = toSellerEvent(strArr);
+		// 상태 변경이 불가능하면 배송 등록/상태 변경 요청도 보내지 않음
+		if(!OrderStateMachine.canApply(item, event)) {
+			System.out.println("[" + LocalDateTime.now() + "] 허용되지 않는 상태 변경 : orderItemId => " + oiId + ", 현재 상태 " + item.getStatus());
+			return result;
+		}
+		DeliveryRequestDto drd = null;
+		Long deliveryId = null;
+		// 판매자는 트랜잭션 밖에서 확인 (seller_id가 없는 이전 데이터만 상품서비스 조회)
+		Long sellerId = item.getSellerId();
 		if(trackingNumber != null) {
 			try {
 				String url = "http://localhost:10500/api/delivery/user/"+ order.getAddressId();
-				ResponseEntity<AddressDto> addr = restTemplate.getForEntity(url, AddressDto.class);
+				AddressDto addr = restTemplate.getForObject(url, AddressDto.class);
 				String purl = "http://localhost:10100/api/products/"+ item.getProductId();
-				ResponseEntity<ProductDto> pDto = restTemplate.getForEntity(purl, ProductDto.class);
-				if(addr == null || pDto == null) throw new Exception("no address");
-				DeliveryRequestDto drd = makeDRD(pDto.getBody(),addr.getBody(), trackingNumber, item);
-				url = "http://localhost:10500/api/delivery";
-				responDto = restTemplate.postForEntity(url, drd ,DeliveryResponseDto.class).getBody();
-				if(responDto == null) throw new Exception("delivery save fail");
-				changeOIStatus(oiId,strArr);
+				ProductDto pDto = restTemplate.getForObject(purl, ProductDto.class);
+				if(addr == null || pDto == null) throw new Exception("배송지/상품 정보 없음");
+				drd = makeDRD(pDto, addr, trackingNumber, item);
+				if(sellerId == null) {
+					sellerId = parseSellerId(pDto);
+				}
 			} catch(Exception e) {
-				System.out.println("[배송서비스 주소 API 연결 실패](645번째 줄) : " + e.getMessage());
-//				임시 통과
-//				return  result;
-				
+				System.out.println("[배송서비스 주소/상품 API 연결 실패] orderItemId : " + oiId + " => " + e.getMessage());
+				return result;
 			}
-			
-			return 1;
 		}else {
-			responDto = findByDeliveryId(oiId);
-			
-			if(changeOIStatus(oiId,strArr) == null || responDto == null){
-				System.out.println("[" + LocalDateTime.now() + "] 바꿀 데이터가 없음");
+			// 배송 id는 먼저 확인 (없으면 상태를 바꾸지 않음)
+			deliveryId = findDeliveryId(item);
+			if(deliveryId == null) {
+				System.out.println("[" + LocalDateTime.now() + "] 배송 정보 없음 : orderItemId => " + oiId);
 				return result;
 			}
-			if(requestUpdateDeliveryStatus(responDto) != null) {
-				System.out.println("[" + LocalDateTime.now() + "] 바꾸기 성공");
-				return 1;
+			if(sellerId == null) {
+				sellerId = parseSellerId(productLookupService.findProduct(item.getProductId()));
 			}
-			System.out.println("[" + LocalDateTime.now() + "] 바꾸기 실패");
-			return result;
 		}
+		DeliveryRequestDto registerRequest = drd;
+		Long knownDeliveryId = deliveryId;
+		Long knownSellerId = sellerId;
+		// 예외는 그대로 던져서 상태 변경과 outbox 기록이 함께 롤백되게 함
+		Integer applied = transactionTemplate.execute(status -> {
+			List<OrderItem> locked = orderItemRepository.findAllByIdForUpdate(List.of(oiId));
+			OrderItem target = locked.isEmpty() ? null : locked.get(0);
+			// 조회하는 동안 상태가 바뀌었으면 처리하지 않음
+			if(target == null || !OrderStateMachine.canApply(target, event)) {
+				System.out.println("[" + LocalDateTime.now() + "] 바꿀 데이터가 없음 : orderItemId => " + oiId);
+				return -1;
+			}
+			// seller_id는 여기서 채우지 않음 (백필 후 판매자 상태 카운터 재계산에 포함되도록)
+			Long outboxSellerId = target.getSellerId() != null ? target.getSellerId() : knownSellerId;
+			if(registerRequest != null) {
+				// 배송 등록은 상태 변경과 같은 트랜잭션에서 outbox에 기록 (응답의 deliveryId는 OutboxRelay가 저장)
+				outboxService.enqueue(OutboxType.DELIVERY_REGISTER, OutboxService.deliveryKey(outboxSellerId, oiId),
+						HttpMethod.POST, "http://localhost:10500/api/delivery", registerRequest);
+				orderStateMachine.apply(target, event);
+			}else {
+				if(target.getDeliveryId() == null) {
+					target.setDeliveryId(knownDeliveryId);
+				}
+				orderStateMachine.apply(target, event);
+				requestUpdateDeliveryStatus(knownDeliveryId, outboxSellerId, target);
+			}
+			orderItemRepository.save(target);
+			return 1;
+		});
+		if(applied != null && applied == 1) {
+			System.out.println("[" + LocalDateTime.now() + "] 바꾸기 성공");
+			return 1;
+		}
+		return result;
 	}
 	
-	private DeliveryResponseDto requestUpdateDeliveryStatus(DeliveryResponseDto drd) {
-		DeliveryStatus dStatus = drd.getStatus();
-		ResponseEntity<DeliveryResponseDto> result = null;
-		String url = "http://localhost:10500/api/delivery/"+ drd.getDeliveryId() + "/status";
-		if(dStatus.equals(DeliveryStatus.READY)) {
-			dStatus = DeliveryStatus.IN_TRANSIT;
-		}else {
-			dStatus = DeliveryStatus.DELIVERED;
+	// 배송 상태 변경은 상품 상태 변경과 같은 트랜잭션에서 outbox에 기록 (일괄 처리와 같은 판매자 키)
+	// 배송중(SHIPPED) -> IN_TRANSIT, 배송완료(DELIVERED) -> DELIVERED, 구매확정은 배송서비스에 알리지 않음
+	private DeliveryResponseDto requestUpdateDeliveryStatus(Long deliveryId, Long sellerId, OrderItem item) {
+		DeliveryStatus dStatus = toDeliveryStatus(item.getStatus());
+		if(dStatus == null) {
+			return null;
 		}
+		DeliveryResponseDto drd = new DeliveryResponseDto();
+		drd.setDeliveryId(deliveryId);
+		drd.setOrderItemId(item.getOrderItemId());
 		drd.setStatus(dStatus);
-		result = restTemplate.exchange(
-			url,
-			HttpMethod.PUT,
-			new HttpEntity<>(drd),
-			DeliveryResponseDto.class
-		);
-		return result.getBody();
+		String url = "http://localhost:10500/api/delivery/"+ deliveryId + "/status";
+		outboxService.enqueue(OutboxType.DELIVERY_STATUS, OutboxService.deliveryKey(sellerId, item.getOrderItemId()),
+				HttpMethod.PUT, url, drd);
+		return drd;
 	}
 
-	private DeliveryResponseDto findByDeliveryId(Long oiId) {
-		String url = "http://localhost:10500/api/delivery";
-		ResponseEntity<List<DeliveryResponseDto>> temp = restTemplate.exchange(
-		        url,
-		        HttpMethod.GET,
-		        null,
-		        new ParameterizedTypeReference<List<DeliveryResponseDto>>() {}
-		);
-		List<DeliveryResponseDto> idList = temp.getBody();
-		for(DeliveryResponseDto drd : idList) {
-			if(drd.getOrderItemId() == oiId){
-				return drd;
+	// 배송서비스에 알릴 배송 상태 (알리지 않는 상태는 null)
+	public static DeliveryStatus toDeliveryStatus(OrderStatus status) {
+		if(status == OrderStatus.SHIPPED) {
+			return DeliveryStatus.IN_TRANSIT;
+		}else if(status == OrderStatus.DELIVERED) {
+			return DeliveryStatus.DELIVERED;
+		}
+		return null;
+	}
+
+	// 배송 등록 시 저장한 delivery_id 사용, 없으면(배송 등록 응답 전, 이전 데이터) orderItemId로 한 건만 조회해서 저장
+	public Long findDeliveryId(OrderItem item) {
+		if(item.getDeliveryId() != null) {
+			return item.getDeliveryId();
+		}
+		try {
+			String url = "http://localhost:10500/api/delivery/order-item/" + item.getOrderItemId();
+			DeliveryResponseDto drd = restTemplate.getForObject(url, DeliveryResponseDto.class);
+			if(drd != null && drd.getDeliveryId() != null
+					&& item.getOrderItemId().equals(drd.getOrderItemId())) {
+				item.setDeliveryId(drd.getDeliveryId());
+				return drd.getDeliveryId();
 			}
+		} catch(Exception e) {
+			System.out.println("[배송서비스 연결 실패] orderItemId : " + item.getOrderItemId() + " => " + e.getMessage());
 		}
 		return null;
 	}
 
+	@Transactional
 	public OrderItem changeOIStatus(Long oiId, String... strArr) {
 		OrderItem target = orderItemRepository.findById(oiId).orElse(null);
-		OrderStatus os = null;
-		if(target != null && !"DELETE".equals(strArr[0])) {
-			os = target.getStatus();
-			switch (os) {
-			case PAID:
-				os = OrderStatus.READY_SHIPMENT;
-				break;
-			case READY_SHIPMENT:
-				os = OrderStatus.SHIPPED;
-				break;
-			case SHIPPED:
-				os = OrderStatus.DELIVERED;
-				break;
-			case DELIVERED: 
-				os = OrderStatus.PURCHASE_CONFIRMED;
-				break;
-			default:
-				os = null;
-			}
-		}else if("DELETE".equals(strArr[0])) {
-			if(strArr[1].equals("일시 품절")) {
-				os = OrderStatus.CANCELLED_EMPTY;
-			}else {
-				os = OrderStatus.CANCELLED_NO_DELIVERY;
-			}
+		if(target == null) {
+			return null;
 		}
-		if(os !=null) {
-			target.setStatus(os);
-			orderItemRepository.save(target);
-		}else {
-			target = null;
+		OrderEvent event = toSellerEvent(strArr);
+		if(!OrderStateMachine.canApply(target, event)) {
+			System.out.println("[" + LocalDateTime.now() + "] 허용되지 않는 상태 변경 : orderItemId => " + oiId
+					+ ", " + target.getStatus() + " -> " + event);
+			return null;
 		}
+		orderStateMachine.apply(target, event);
+		orderItemRepository.save(target);
 		return target;
 	}
-	private DeliveryRequestDto makeDRD(ProductDto pDto,AddressDto ad, Long trackingNumber, OrderItem item) {
+
+	// 판매자 요청 -> 이벤트 (DELETE는 사유에 따라 품절/배송불가 취소, 그 외는 다음 단계 진행)
+	public static OrderEvent toSellerEvent(String... strArr) {
+		if(strArr.length > 0 && "DELETE".equals(strArr[0])) {
+			return strArr.length > 1 && "일시 품절".equals(strArr[1])
+					? OrderEvent.CANCEL_SOLD_OUT : OrderEvent.CANCEL_NO_DELIVERY;
+		}
+		return OrderEvent.ADVANCE;
+	}
+	public DeliveryRequestDto makeDRD(ProductDto pDto,AddressDto ad, Long trackingNumber, OrderItem item) {
 		DeliveryRequestDto result = new DeliveryRequestDto();
 		result.setUserId(Integer.parseInt(item.getUserId().toString()));
 	    result.setRecipientName(ad.getRecipientName());
@@ -777,62 +947,29 @@ public class OrderService {
 		return result;
 	}
 	
-	private List<OrderItem> getOrderItemByUserId(Long userId){
-		List<Long> pIds = getProductIdsByUserId(userId);
-		List<OrderItem> oiArr = new ArrayList<>();
-		for(Long pId : pIds) {
-			List<OrderItemDto> temp = getListByProductId(pId);
-			if(temp != null) {
-				for(OrderItemDto dto : temp){
-					OrderItem oi = orderItemRepository.findById(dto.getOrderItemId()).orElse(null);
-					if(oi != null) {
-						oiArr.add(oi);
-					}
-				}
-			}
-		}
-		return oiArr;
-	}
-	
-	// 주문 상세 내역 중 환불 요청된 목록 조회
-	public List<ClaimDto> claimFindBy(Long userId, ClaimType type) {
-		List<OrderItem> oiArr = getOrderItemByUserId(userId);
-		List<ClaimDto> result = new ArrayList<>();
-		if(oiArr != null && oiArr.size()>0) {
-			for(OrderItem oi : oiArr) {
-				try {
-					List<Claim> claims = claimRepository.findByOrderItemIdAndType(oi.getOrderItemId(),type);
-					if(claims != null) {
-						for(Claim c : claims) {
-							ClaimDto dto = new ClaimDto();
-							dto.setClaimId(c.getClaimId());
-							dto.setOrderNumber(oi.getOrderedNum());
-							dto.setCreatedAt(c.getClaimedAt());
-							dto.setReason(c.getReason());
-							dto.setStatus(c.getStatus());
-							dto.setAmount(oi.getTotalAmount());
-							result.add(dto);
-						}
-					}
-				}catch (Exception e) {
-					System.out.println("아마 orderItemId가 같은 claim객체가 2개 있는 거일 거임 해당 문제는 다음 줄에서 확인 => 일단 그냥 통과[801번째 줄]");
-				}
-			}
-		}
-		return result;
+	// 판매자 환불/교환/취소 목록 (claim - order_item 조인 한 번 + 개수 조회, 최근 신청 순)
+	public Page<ClaimDto> claimFindBy(Long userId, ClaimType type, int page, int perPage) {
+		Pageable pageable = PageRequest.of(Math.max(page, 1) - 1, perPage,
+				Sort.by(Sort.Direction.DESC, "claimedAt", "claimId"));
+		return claimRepository.findSellerClaims(userId, type, pageable);
 	}
 
+	@Transactional
 	public Claim processRefund(Long refundId, String method,Long SellerAddressId) {
-		Claim claim = claimRepository.findById(refundId).get();
+		Claim claim = claimRepository.findById(refundId).orElse(null);
 		if(claim != null) {
-			if("DELETE".equals(method)) {
-				claim.setStatus(ClaimStatus.REJECTED);
-			}else {
-				claim.setStatus(ClaimStatus.APPROVED);
+			ClaimEvent event = "DELETE".equals(method) ? ClaimEvent.REJECT : ClaimEvent.APPROVE;
+			OrderItem item = orderItemRepository.findById(claim.getOrderItemId()).orElse(null);
+			// 요청 상태의 클레임만 처리, 환불/교환은 상세 내역도 *_REQUESTED -> *_APPROVED / *_REJECTED
+			try {
+				orderStateMachine.apply(claim, item, event);
+			} catch(IllegalStatusTransitionException e) {
+				System.out.println("["+LocalDateTime.now()+"] " + e.getMessage());
+				return null;
 			}
 			claim = claimRepository.save(claim);
-			if(claim == null) {
-				System.out.println("["+LocalDateTime.now()+"] 저장 실패 : System exception -> didn't save DB");
+			if(item != null) {
+				orderItemRepository.save(item);
 			}
 		}
 		return claim;
@@ -850,73 +987,106 @@ public class OrderService {
 	}
 	
 	public List<OrderItemDto> getSellerOrders(Long sellerId) {
-        List<Long> pIdList = getProductIdsByUserId(sellerId);
-        List<OrderItemDto> result = new ArrayList<>();
-        for(Long pId : pIdList) {
-        	List<OrderItemDto> tempList = getListByProductId(pId);
-        	if(tempList != null && tempList.size() > 0) {
-        		for(OrderItemDto odid : tempList) {
-        			try {
-	        			String url = "http://localhost:10400/api/payment/order/" + odid.getOrderedNum(); 
-	        			Map<String, Object> temp = restTemplate.exchange(
-	        				url, 
-	        				HttpMethod.GET,
-	        				null,
-	        				new ParameterizedTypeReference<Map<String, Object>>() {}
-	        			).getBody();
-	        			odid.setCardType((String)temp.get("cardType"));
-        			}catch(Exception e) {
-        				System.out.print("연결 실패 : [" + e.getMessage() + "] => 852번째 줄");
-        				odid.setCardType("임시");
-        			}
-        			result.add(odid);
-        		}
-        	}
-        }
-        for(OrderItemDto oi : result) {
-        	System.out.println(oi);
-        }
-        return result;
+		return toSellerItemDtos(orderItemRepository.findBySellerIdOrderByOrderedAtDesc(sellerId));
     }
+	
+	// 처리할 주문(결제완료/배송준비/배송중)이 앞, 배송완료/구매확정이 뒤 (정렬은 DB에서)
 	public List<OrderItemDto> getSellerOrdersProcessing(Long sellerId) {
-        List<Long> pIdList = getProductIdsByUserId(sellerId);
-        List<OrderItemDto> result = new ArrayList<>();
-        for(Long pId : pIdList) {
-        	List<OrderItemDto> tempList = getListByProductId(pId);
-        	if(tempList != null && tempList.size() > 0) {
-        		for(OrderItemDto odid : tempList) {
-        			String status = odid.getStatus();
-        			 boolean flag = status.equals(OrderStatus.PAID.name()) ||
-    						status.equals(OrderStatus.READY_SHIPMENT.name()) ||
-    						status.equals(OrderStatus.SHIPPED.name())||
-    						status.equals(OrderStatus.DELIVERED.name())||
-    						status.equals(OrderStatus.PURCHASE_CONFIRMED.name());
-    				if(flag) {
-	        			try {
-		        			String url = "http://localhost:10400/api/payment/order/" + odid.getOrderedNum(); 
-		        			Map<String, Object> temp = restTemplate.exchange(
-		        				url, 
-		        				HttpMethod.GET,
-		        				null,
-		        				new ParameterizedTypeReference<Map<String, Object>>() {}
-		        			).getBody();
-		        			odid.setCardType((String)temp.get("cardType"));
-	        			}catch(Exception e) {
-	        				System.out.print("연결 실패 : [" + e.getMessage() + "] => 888번째 줄");
-	        				odid.setCardType("임시");
-	        			}
-	        			if(status.equals(OrderStatus.PURCHASE_CONFIRMED.toString())||
-	        				status.equals(OrderStatus.DELIVERED.toString())) {
-	        				result.add(odid);
-	        			}else {
-	        				result.add(0, odid);
-	        			}
-    				}
-        		}
-        	}
-        }
-        return result;
+		return toSellerItemDtos(orderItemRepository.findSellerItemsByPriority(sellerId, ORDER_STATUS_VALUES,
+				Set.of(OrderStatus.DELIVERED, OrderStatus.PURCHASE_CONFIRMED)));
     }
+	
+	// 카드 종류는 주문(paymentId) 기준으로 조회 (주문은 한 번에, 카드 종류는 캐시)
+	private List<OrderItemDto> toSellerItemDtos(List<OrderItem> items) {
+		Map<String, Order> orders = items.isEmpty() ? Map.of()
+				: orderRepository.findByOrderedNumIn(items.stream().map(OrderItem::getOrderedNum).collect(Collectors.toSet()))
+					.stream().collect(Collectors.toMap(Order::getOrderedNum, o -> o));
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+		
+		List<OrderItemDto> result = new ArrayList<>(items.size());
+		for (OrderItem oi : items) {
+			Order order = orders.get(oi.getOrderedNum());
+			OrderItemDto dto = new OrderItemDto();
+			dto.setOrderItemId(oi.getOrderItemId());
+			dto.setOrderedNum(oi.getOrderedNum());
+			dto.setProductName(oi.getProductName());
+			dto.setTotalAmount(oi.getTotalAmount());
+			dto.setStatus(oi.getStatus().toString());
+			if (order != null) {
+				dto.setCardType(getCardType(order.getPaymentId()));
+				dto.setOrderedAt(order.getOrderedAt().format(formatter));
+			} else {
+				dto.setCardType("임시");
+			}
+			result.add(dto);
+		}
+		return result;
+	}
+	// (판매자) 판매 내역 : 커서(주문일시, orderItemId) 기준 다음 페이지 조회
+	public PageResponse<OrderItemDto> getSellerOrdersByCursor(Long sellerId, String cursor, int size) {
+		size = Pagination.clampSize(size);
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<OrderItem> items;
+		if (cursor == null || cursor.isBlank()) {
+			items = orderItemRepository.findFirstBySeller(sellerId, ORDER_STATUS_VALUES, limit);
+		} else {
+			Pagination.Cursor c = Pagination.decodeCursor(cursor);
+			items = orderItemRepository.findNextBySeller(sellerId, ORDER_STATUS_VALUES,
+					c.at(), Long.parseLong(c.id()), limit);
+		}
+		boolean hasNext = items.size() > size;
+		if (hasNext) {
+			items = items.subList(0, size);
+		}
+		List<OrderItemDto> result = toSellerItemDtos(items);
+		String nextCursor = null;
+		if (hasNext) {
+			OrderItem last = items.get(items.size() - 1);
+			nextCursor = Pagination.encodeCursor(last.getOrderedAt(), last.getOrderItemId());
+		}
+		return new PageResponse<>(result, nextCursor, hasNext);
+	}
+	
+	// (판매자) 환불/교환/취소 목록 : 커서(신청일시, claimId) 기준 다음 페이지 조회
+	public PageResponse<ClaimDto> claimFindByCursor(Long userId, ClaimType type, String cursor, int size) {
+		size = Pagination.clampSize(size);
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<Claim> claims;
+		if (cursor == null || cursor.isBlank()) {
+			claims = claimRepository.findFirstBySeller(userId, type, limit);
+		} else {
+			Pagination.Cursor c = Pagination.decodeCursor(cursor);
+			claims = claimRepository.findNextBySeller(userId, type, c.at(), Long.parseLong(c.id()), limit);
+		}
+		boolean hasNext = claims.size() > size;
+		if (hasNext) {
+			claims = claims.subList(0, size);
+		}
+		Map<Long, OrderItem> items = orderItemRepository.findAllById(claims.stream().map(Claim::getOrderItemId).toList())
+				.stream().collect(Collectors.toMap(OrderItem::getOrderItemId, oi -> oi));
+		
+		List<ClaimDto> result = new ArrayList<>();
+		for (Claim c : claims) {
+			OrderItem oi = items.get(c.getOrderItemId());
+			ClaimDto dto = new ClaimDto();
+			dto.setClaimId(c.getClaimId());
+			dto.setCreatedAt(c.getClaimedAt());
+			dto.setReason(c.getReason());
+			dto.setStatus(c.getStatus());
+			if (oi != null) {
+				dto.setOrderNumber(oi.getOrderedNum());
+				dto.setAmount(oi.getTotalAmount());
+			}
+			result.add(dto);
+		}
+		String nextCursor = null;
+		if (hasNext) {
+			Claim last = claims.get(claims.size() - 1);
+			nextCursor = Pagination.encodeCursor(last.getClaimedAt(), last.getClaimId());
+		}
+		return new PageResponse<>(result, nextCursor, hasNext);
+	}
+	
 	public Map<String, Integer> orderItemGetAllStatus(List<OrderItemDto> orderItemList) {
 		Map<String, Integer> result = new HashMap<>();
 		int paidCount = 0;
@@ -995,22 +1165,24 @@ public class OrderService {
 	    OrderItem item = orderItemRepository.findById(orderItemId)
 	        .orElseThrow(() -> new RuntimeException("주문 항목 없음"));
 
-	    item.setStatus(OrderStatus.PURCHASE_CONFIRMED);
+	    orderStateMachine.apply(item, OrderEvent.CONFIRM_PURCHASE);
 	    orderItemRepository.save(item);
 	}
 	
 	public List<OrderItemDto> getConfirmedItemsByUser(Long userId) {
 	    List<OrderItem> items = orderItemRepository.findByUserIdAndStatus(userId, OrderStatus.PURCHASE_CONFIRMED);
 	    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+	    Map<Long, ProductDto> products = productLookupService.findProducts(
+	    		items.stream().map(OrderItem::getProductId).toList());
+	    Set<String> orderedNums = items.stream().map(OrderItem::getOrderedNum).collect(Collectors.toSet());
+	    Map<String, Order> orders = orderedNums.isEmpty() ? Map.of()
+	    		: orderRepository.findByOrderedNumIn(orderedNums).stream()
+	    			.collect(Collectors.toMap(Order::getOrderedNum, o -> o));
 	    
 	    return items.stream().map(item -> {
 	        // 1. 상품 정보 조회
-	        String prodUrl = "http://localhost:10100/api/products/" + item.getProductId();
-	        ProductDto product = null;
-	        try {
-	            ResponseEntity<ProductDto> prodRes = restTemplate.getForEntity(prodUrl, ProductDto.class);
-	            product = prodRes.getBody();
-	        } catch (Exception e) {
+	        ProductDto product = products.get(item.getProductId());
+	        if (product == null) {
 	            product = ProductDto.builder()
 	                    .name("상품명 정보 없음")
 	                    .image("/img/default.png")
@@ -1019,20 +1191,17 @@ public class OrderService {
 	        }
 
 	        // 2. 판매자 상호명 조회
-	        String userUrl = "http://localhost:10000/api/users/" + item.getUserId() + "/company-name";
-	        String companyName;
-	        try {
-	            ResponseEntity<String> companyRes = restTemplate.getForEntity(userUrl, String.class);
-	            companyName = companyRes.getBody();
-	        } catch (Exception e) {
+	        String companyName = getCompanyName(item.getUserId());
+	        if (companyName == null) {
 	            companyName = "상호명 정보 없음";
-	            System.out.println("[회원 API 실패] 기본 상호명 대체");
 	        }
 	        
 	        // 3. 주문 날짜 조회 및 포맷
 	        String orderedNum = item.getOrderedNum();
-	        Order order = orderRepository.findById(orderedNum)
-	                .orElseThrow(() -> new RuntimeException("주문 정보 없음"));
+	        Order order = orders.get(orderedNum);
+	        if (order == null) {
+	        	throw new RuntimeException("주문 정보 없음");
+	        }
 	        String orderedAt = order.getOrderedAt().format(formatter);
 
 	        // 3. DTO 조립
@@ -1055,6 +1224,35 @@ public class OrderService {
 	    }).collect(Collectors.toList());
 	}
 
+	// 구매자 주문 상태 배지 : 외부 조회 없이 GROUP BY 집계만으로 계산
+	public Map<String, Integer> getUserOrdersCount(Long userId) {
+		int paidOrReadyCount = 0;
+		int shippedCount = 0;
+		int deliveredCount = 0;
+		for (OrderItemRepository.StatusCount sc : orderItemRepository.countBuyerItemsByStatus(userId)) {
+			int count = (int) sc.getCount();
+			switch (sc.getStatus()) {
+			case PAID:
+				paidOrReadyCount += count;
+				break;
+			case READY_SHIPMENT:
+			case SHIPPED:
+				shippedCount += count;
+				break;
+			case DELIVERED:
+				deliveredCount += count;
+				break;
+			default:
+				break;
+			}
+		}
+		Map<String, Integer> result = new HashMap<>();
+		result.put("paidOrReadyCount", paidOrReadyCount);
+		result.put("shippedCount", shippedCount);
+		result.put("deliveredCount", deliveredCount);
+		return result;
+	}
+	
 	public Map<String, Integer> getTotalCount(List<OrderDetailDto> odList) {
 		int paidOrReadyCount = 0;
 		int shippedCount = 0;
@@ -1083,61 +1281,53 @@ public class OrderService {
 		return result;
 	}
 
-	public List<OrderDetailDto> getAll() {
-		List<Order> orderList = orderRepository.findAll();
+	// 관리자 거래내역 : 요청한 페이지의 주문만 조회/조합하고 전체 개수는 count 쿼리로 계산
+	public Page<OrderDetailDto> getAll(int page, int perPage) {
+		Pageable pageable = PageRequest.of(Math.max(page, 1) - 1, perPage,
+				Sort.by(Sort.Direction.DESC, "orderedAt", "orderedNum"));
+		Page<Order> orderPage = orderRepository.findByItemStatusIn(ORDER_STATUS_VALUES, pageable);
+		return new PageImpl<>(toAdminOrderDetails(orderPage.getContent()), pageable, orderPage.getTotalElements());
+	}
+	
+	// 관리자 거래내역 : 커서(주문일시, 주문번호) 기준 다음 페이지 조회
+	public PageResponse<OrderDetailDto> getAllByCursor(String cursor, int size) {
+		size = Pagination.clampSize(size);
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<Order> orderList;
+		if (cursor == null || cursor.isBlank()) {
+			orderList = orderRepository.findFirstByItemStatusIn(ORDER_STATUS_VALUES, limit);
+		} else {
+			Pagination.Cursor c = Pagination.decodeCursor(cursor);
+			orderList = orderRepository.findNextByItemStatusIn(ORDER_STATUS_VALUES, c.at(), c.id(), limit);
+		}
+		boolean hasNext = orderList.size() > size;
+		if (hasNext) {
+			orderList = orderList.subList(0, size);
+		}
+		String nextCursor = null;
+		if (hasNext) {
+			Order last = orderList.get(orderList.size() - 1);
+			nextCursor = Pagination.encodeCursor(last.getOrderedAt(), last.getOrderedNum());
+		}
+		return new PageResponse<>(toAdminOrderDetails(orderList), nextCursor, hasNext);
+	}
+	
+	private List<OrderDetailDto> toAdminOrderDetails(List<Order> orderList) {
 		List<OrderDetailDto> result = new ArrayList<>();
+		Map<String, List<OrderItem>> itemsByOrder = findItemsByOrders(orderList);
+		Map<Long, ProductDto> products = productLookupService.findProducts(
+				itemsByOrder.values().stream().flatMap(List::stream).map(OrderItem::getProductId).toList());
+		
 		for (Order order : orderList) {
-            List<OrderItem> items = orderItemRepository.findByOrderedNum(order.getOrderedNum());
+            List<OrderItem> items = itemsByOrder.get(order.getOrderedNum());
+            // 주문 단위 정보는 상품마다 다시 조회하지 않음
+            String buyerName = getUserName(order.getUserId());
+            String cardType = getCardType(order.getPaymentId());
 
             // 상품/판매자정보 조합 (상세 참고)
-            List<OrderItemDto> itemDtos = items.stream().map(item -> {
-                ProductDto product;
-                String prodUrl = "http://localhost:10100/api/products/" + item.getProductId();
-                try {
-                    ResponseEntity<ProductDto> prodRes = restTemplate.getForEntity(prodUrl, ProductDto.class);
-                    product = prodRes.getBody();
-                } catch (Exception e) {
-                    product = ProductDto.builder().name("테스트상품").image("").build();
-                }
-                // 판매자 상호명 조회
-                String userUrl = "http://localhost:10000/api/users/company-name";
-                String companyName;
-                
-                try {            	
-                	ResponseEntity<String> companyRes = restTemplate.exchange(
-                			userUrl,
-                			HttpMethod.GET,
-                			new HttpEntity<String>(product.getUserId()),
-                			String.class
-                	);
-                	companyName = companyRes.getBody();
-                } catch(Exception e) {
-                	System.out.println("[RestTemplate 오류 발생] => 임시 회사 이름 주입(325번째 줄)");
-                	companyName = "주식회사 베스트커머스";
-                }
-                
-                String sellerName = getUserName(Long.parseLong(product.getUserId()));
-                String buyerName = getUserName(order.getUserId());
-                String cardType = getCardType(order.getPaymentId());
-                return OrderItemDto.builder()
-                		.orderItemId(item.getOrderItemId())
-                        .productId(item.getProductId())
-                        .orderedNum(item.getOrderedNum())
-                        .productName(product.getName())
-                        .image(product.getImage())
-                        .quantity(item.getQuantity())
-                        .price(item.getPrice())
-                        .discountPrice(item.getDiscountPrice())
-                        .shippingFee(item.getShippingFee())
-                        .totalAmount(item.getTotalAmount())
-                        .status(item.getStatus().name())
-                        .sellerName(sellerName)
-                        .buyerName(buyerName)
-                        .userId(item.getUserId())
-                        .cardType(cardType)
-                        .companyName(companyName)
-                        .build();
-            }).toList();
+            List<OrderItemDto> itemDtos = items.stream()
+            		.map(item -> toOrderItemDto(item, products, buyerName, cardType))
+            		.toList();
             
             itemDtos = itemDtos.stream().filter(i -> ORDER_STATUSES.contains(i.getStatus())).toList();
 
@@ -0,0 +1,180 @@
+package org.ezon.msa.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ezon.msa.dto.StatusTransitionDto;
+import org.ezon.msa.entity.Claim;
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.enums.ClaimEvent;
+import org.ezon.msa.enums.ClaimStatus;
+import org.ezon.msa.enums.ClaimType;
+import org.ezon.msa.enums.OrderEvent;
+import org.ezon.msa.enums.OrderStatus;
+import org.ezon.msa.event.ClaimProcessedEvent;
+import org.ezon.msa.event.ItemStatusChangedEvent;
+import org.ezon.msa.event.OrderEventBus;
+import org.ezon.msa.exception.IllegalStatusTransitionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// 상세 내역(OrderStatus) / 클레임(ClaimStatus) 상태 변경 표
+// 표에 없는 (현재 상태, 이벤트) 조합은 허용하지 않는다
+@Component
+public class OrderStateMachine {
+
+	private static final Map<OrderStatus, Map<OrderEvent, OrderStatus>> ITEM_TABLE = new EnumMap<>(OrderStatus.class);
+	private static final Map<ClaimStatus, Map<ClaimEvent, ClaimStatus>> CLAIM_TABLE = new EnumMap<>(ClaimStatus.class);
+
+	static {
+		for (OrderStatus status : OrderStatus.values()) {
+			ITEM_TABLE.put(status, new EnumMap<>(OrderEvent.class));
+		}
+		// 판매자 진행
+		item(OrderStatus.PAID, OrderEvent.ADVANCE, OrderStatus.READY_SHIPMENT);
+		item(OrderStatus.READY_SHIPMENT, OrderEvent.ADVANCE, OrderStatus.SHIPPED);
+		item(OrderStatus.SHIPPED, OrderEvent.ADVANCE, OrderStatus.DELIVERED);
+		item(OrderStatus.DELIVERED, OrderEvent.ADVANCE, OrderStatus.PURCHASE_CONFIRMED);
+
+		// 판매자 취소, 구매자 취소 요청 : 발송 전까지만
+		for (OrderStatus from : List.of(OrderStatus.PAID, OrderStatus.READY_SHIPMENT)) {
+			item(from, OrderEvent.CANCEL_SOLD_OUT, OrderStatus.CANCELLED_EMPTY);
+			item(from, OrderEvent.CANCEL_NO_DELIVERY, OrderStatus.CANCELLED_NO_DELIVERY);
+			item(from, OrderEvent.REQUEST_CANCEL, ClaimType.CANCEL.toOrderStatus());
+		}
+
+		// 환불/교환 요청 : 배송완료 상태에서만
+		item(OrderStatus.DELIVERED, OrderEvent.REQUEST_REFUND, ClaimType.REFUND.toOrderStatus());
+		item(OrderStatus.DELIVERED, OrderEvent.REQUEST_EXCHANGE, ClaimType.EXCHANGE.toOrderStatus());
+
+		// 환불/교환 처리 : 요청된 상세 내역만
+		item(OrderStatus.REFUND_REQUESTED, OrderEvent.APPROVE_REFUND, OrderStatus.REFUND_APPROVED);
+		item(OrderStatus.REFUND_REQUESTED, OrderEvent.REJECT_REFUND, OrderStatus.REFUND_REJECTED);
+		item(OrderStatus.EXCHANGE_REQUESTED, OrderEvent.APPROVE_EXCHANGE, OrderStatus.EXCHANGE_APPROVED);
+		item(OrderStatus.EXCHANGE_REQUESTED, OrderEvent.REJECT_EXCHANGE, OrderStatus.EXCHANGE_REJECTED);
+
+		// 구매확정 : 배송완료 또는 환불 반려/교환 처리가 끝난 상세 내역
+		for (OrderStatus from : List.of(OrderStatus.DELIVERED, OrderStatus.REFUND_REJECTED,
+				OrderStatus.EXCHANGE_APPROVED, OrderStatus.EXCHANGE_REJECTED)) {
+			item(from, OrderEvent.CONFIRM_PURCHASE, OrderStatus.PURCHASE_CONFIRMED);
+		}
+
+		for (ClaimStatus status : ClaimStatus.values()) {
+			CLAIM_TABLE.put(status, new EnumMap<>(ClaimEvent.class));
+		}
+		CLAIM_TABLE.get(ClaimStatus.REQUESTED).put(ClaimEvent.APPROVE, ClaimStatus.APPROVED);
+		CLAIM_TABLE.get(ClaimStatus.REQUESTED).put(ClaimEvent.REJECT, ClaimStatus.REJECTED);
+	}
+
+	private static void item(OrderStatus from, OrderEvent event, OrderStatus to) {
+		ITEM_TABLE.get(from).put(event, to);
+	}
+
+	@Autowired
+	private SellerCounterService sellerCounterService;
+
+	@Autowired
+	private OrderDetailCache orderDetailCache;
+
+	@Autowired
+	private OrderEventBus orderEventBus;
+
+	// 허용되지 않으면 null
+	public static OrderStatus next(OrderStatus from, OrderEvent event) {
+		return from == null ? null : ITEM_TABLE.get(from).get(event);
+	}
+
+	public static ClaimStatus next(ClaimStatus from, ClaimEvent event) {
+		return from == null ? null : CLAIM_TABLE.get(from).get(event);
+	}
+
+	public static boolean canApply(OrderItem item, OrderEvent event) {
+		return next(item.getStatus(), event) != null;
+	}
+
+	// 현재 상태에서 가능한 이벤트 목록
+	public static Map<OrderEvent, OrderStatus> eventsFrom(OrderStatus from) {
+		return Collections.unmodifiableMap(ITEM_TABLE.get(from));
+	}
+
+	// 검증만 (상태는 바꾸지 않음), items와 같은 순서의 결과
+	public static List<StatusTransitionDto> plan(Collection<OrderItem> items, OrderEvent event) {
+		List<StatusTransitionDto> results = new ArrayList<>(items.size());
+		for (OrderItem item : items) {
+			OrderStatus from = item.getStatus();
+			OrderStatus to = next(from, event);
+			results.add(StatusTransitionDto.builder()
+					.orderItemId(item.getOrderItemId())
+					.event(event)
+					.from(from)
+					.to(to)
+					.applied(to != null)
+					.message(to != null ? "success" : "허용되지 않는 상태 변경 (" + from + " -> " + event + ")")
+					.build());
+		}
+		return results;
+	}
+
+	/**
+	 * 여러 상세 내역에 같은 이벤트를 적용한다. 허용되는 상세 내역만 상태를 바꾸고(판매자 카운터 포함)
+	 * 나머지는 applied=false 로 결과에 남긴다. 저장은 호출하는 쪽 트랜잭션의 변경 감지로 처리된다.
+	 */
+	public List<StatusTransitionDto> apply(Collection<OrderItem> items, OrderEvent event) {
+		List<StatusTransitionDto> results = plan(items, event);
+		Set<String> changedOrders = new HashSet<>();
+		List<ItemStatusChangedEvent> events = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+		int i = 0;
+		for (OrderItem item : items) {
+			StatusTransitionDto result = results.get(i++);
+			if (result.isApplied()) {
+				item.setStatus(result.getTo());
+				sellerCounterService.itemStatusChanged(item, result.getFrom(), result.getTo());
+				changedOrders.add(item.getOrderedNum());
+				events.add(ItemStatusChangedEvent.of(item, result.getFrom(), result.getTo(), now));
+			}
+		}
+		orderDetailCache.evictAfterCommit(changedOrders);
+		orderEventBus.publishAfterCommit(events);
+		return results;
+	}
+
+	// 한 건 적용, 허용되지 않으면 IllegalStatusTransitionException
+	public OrderStatus apply(OrderItem item, OrderEvent event) {
+		StatusTransitionDto result = apply(List.of(item), event).get(0);
+		if (!result.isApplied()) {
+			throw new IllegalStatusTransitionException(item.getOrderItemId(), item.getStatus(), event);
+		}
+		return result.getTo();
+	}
+
+	// 클레임 처리 : 클레임 상태와 (취소가 아니면) 상세 내역 상태를 함께 검증한 뒤 적용
+	public ClaimStatus apply(Claim claim, OrderItem item, ClaimEvent event) {
+		ClaimStatus from = claim.getStatus();
+		ClaimStatus to = next(from, event);
+		if (to == null) {
+			throw new IllegalStatusTransitionException(claim.getClaimId(), from, event);
+		}
+		OrderEvent itemEvent = OrderEvent.resolveOf(claim.getType(), event);
+		if (itemEvent != null) {
+			if (item == null) {
+				throw new IllegalStatusTransitionException(claim.getOrderItemId(), null, itemEvent);
+			}
+			apply(item, itemEvent);
+		}
+		claim.setStatus(to);
+		if (item != null) {
+			sellerCounterService.claimStatusChanged(item, claim.getType(), from, to);
+		}
+		orderEventBus.publishAfterCommit(new ClaimProcessedEvent(claim.getClaimId(), claim.getOrderItemId(),
+				item == null ? null : item.getOrderedNum(), claim.getType(), from, to, LocalDateTime.now()));
+		return to;
+	}
+}
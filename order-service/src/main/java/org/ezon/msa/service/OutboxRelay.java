@@ -0,0 +1,226 @@
+package org.ezon.msa.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.ezon.msa.dto.DeliveryRequestDto;
+import org.ezon.msa.dto.DeliveryResponseDto;
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.entity.OutboxMessage;
+import org.ezon.msa.enums.OutboxType;
+import org.ezon.msa.repository.OrderItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// outbox_message에 쌓인 외부 서비스 호출을 batch 단위로 전송 (최소 한 번 전송, 받는 쪽은 같은 요청을 다시 받아도 괜찮아야 함)
+@Component
+public class OutboxRelay {
+
+	private static final String DELIVERY_URL = "http://localhost:10500/api/delivery";
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${order.outbox.enabled:true}")
+	private boolean enabled;
+
+	@Value("${order.outbox.batchSize:100}")
+	private int batchSize;
+
+	@Value("${order.outbox.retention:7d}")
+	private Duration retention;
+
+	// 배송서비스에 일괄 API가 없다고 판단된 메시지 종류는 이후로는 건별로 나눠서 전송
+	private final Set<OutboxType> batchUnsupported = ConcurrentHashMap.newKeySet();
+
+	@Scheduled(fixedDelayString = "${order.outbox.pollMs:1000}")
+	public void relay() {
+		if (!enabled) {
+			return;
+		}
+		while (true) {
+			List<OutboxMessage> batch = outboxService.claimDue(batchSize);
+			if (batch.isEmpty()) {
+				return;
+			}
+			List<Long> sent = new ArrayList<>();
+			Map<Long, String> failures = new LinkedHashMap<>();
+			Map<Long, String> rejected = new LinkedHashMap<>();
+			// 같은 대상(주문번호, 판매자 등)의 메시지는 앞선 메시지가 전송된 뒤에만 가져오므로 batch에는 대상별로 하나씩만 있음
+			for (OutboxMessage m : batch) {
+				try {
+					if (m.getType() == OutboxType.DELIVERY_REGISTER_BATCH || m.getType() == OutboxType.DELIVERY_STATUS_BATCH) {
+						sendBatch(m);
+					} else {
+						String response = send(m);
+						if (m.getType() == OutboxType.DELIVERY_REGISTER) {
+							// 키는 판매자 키일 수 있으므로 orderItemId는 요청 내용에서 꺼냄
+							DeliveryRequestDto request = objectMapper.readValue(m.getPayload(), DeliveryRequestDto.class);
+							recordDeliveryId((long) request.getOrderItemId(), response);
+						}
+					}
+					sent.add(m.getOutboxId());
+				} catch (Exception e) {
+					(isRetryable(e) ? failures : rejected).put(m.getOutboxId(), e.getMessage());
+				}
+			}
+			outboxService.complete(sent, failures, rejected);
+			if (!failures.isEmpty() || !rejected.isEmpty()) {
+				System.out.println("[outbox] 전송 " + sent.size() + "건, 실패(재시도 예정) " + failures.size()
+						+ "건, 전송 불가 " + rejected.size() + "건");
+			}
+			// 전송되거나 버린 메시지가 있으면 같은 대상의 다음 메시지가 차례가 되었을 수 있으므로 다시 조회
+			if (batch.size() < batchSize && sent.isEmpty() && rejected.isEmpty()) {
+				return;
+			}
+		}
+	}
+
+	// 전송 완료 후 보관 기간이 지난 메시지 정리
+	@Scheduled(fixedDelayString = "${order.outbox.purgeMs:3600000}")
+	public void purge() {
+		if (!enabled) {
+			return;
+		}
+		int deleted = outboxService.purgeSent(retention);
+		if (deleted > 0) {
+			System.out.println("[outbox] 전송 완료 메시지 정리 : " + deleted + "건");
+		}
+	}
+
+	// 4xx(요청 자체가 잘못됨)와 payload 변환 실패는 다시 보내도 같으므로 재시도하지 않음
+	// 408/425/429는 일시적인 거절이라 재시도
+	private static boolean isRetryable(Exception e) {
+		if (e instanceof JsonProcessingException) {
+			return false;
+		}
+		if (e instanceof HttpStatusCodeException se && se.getStatusCode().is4xxClientError()) {
+			int code = se.getStatusCode().value();
+			return code == 408 || code == 425 || code == 429;
+		}
+		return true;
+	}
+
+	private String send(OutboxMessage m) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		return restTemplate.exchange(m.getUrl(), HttpMethod.valueOf(m.getHttpMethod()),
+				new HttpEntity<>(m.getPayload(), headers), String.class).getBody();
+	}
+
+	// 일괄 API로 한 번에 보내고, 없으면(404/405/501) 같은 내용을 건별 API로 나눠서 보냄
+	private void sendBatch(OutboxMessage m) throws Exception {
+		if (!batchUnsupported.contains(m.getType())) {
+			try {
+				String response = send(m);
+				if (m.getType() == OutboxType.DELIVERY_REGISTER_BATCH) {
+					recordDeliveryIds(response);
+				}
+				return;
+			} catch (HttpStatusCodeException e) {
+				HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+				if (status != HttpStatus.NOT_FOUND && status != HttpStatus.METHOD_NOT_ALLOWED
+						&& status != HttpStatus.NOT_IMPLEMENTED) {
+					throw e;
+				}
+				batchUnsupported.add(m.getType());
+				System.out.println("[배송서비스 일괄 API 없음] 건별 전송으로 전환 : " + m.getType() + " " + e.getStatusCode());
+			}
+		}
+		if (m.getType() == OutboxType.DELIVERY_REGISTER_BATCH) {
+			registerEach(m);
+		} else {
+			updateStatusEach(m);
+		}
+	}
+
+	// 재시도 시 이미 등록된(deliveryId가 저장된) 상세 내역은 다시 등록하지 않음
+	private void registerEach(OutboxMessage m) throws Exception {
+		List<DeliveryRequestDto> requests = objectMapper.readValue(m.getPayload(),
+				new TypeReference<List<DeliveryRequestDto>>() {});
+		Set<Long> registered = orderItemRepository.findAllById(requests.stream()
+						.map(r -> (long) r.getOrderItemId()).toList()).stream()
+				.filter(i -> i.getDeliveryId() != null)
+				.map(OrderItem::getOrderItemId)
+				.collect(Collectors.toSet());
+		for (DeliveryRequestDto drd : requests) {
+			Long orderItemId = (long) drd.getOrderItemId();
+			if (registered.contains(orderItemId)) {
+				continue;
+			}
+			String response = restTemplate.exchange(DELIVERY_URL, HttpMethod.POST, json(drd), String.class).getBody();
+			recordDeliveryId(orderItemId, response);
+		}
+	}
+
+	private void updateStatusEach(OutboxMessage m) throws Exception {
+		List<DeliveryResponseDto> updates = objectMapper.readValue(m.getPayload(),
+				new TypeReference<List<DeliveryResponseDto>>() {});
+		for (DeliveryResponseDto drd : updates) {
+			restTemplate.exchange(DELIVERY_URL + "/" + drd.getDeliveryId() + "/status", HttpMethod.PUT,
+					json(drd), String.class);
+		}
+	}
+
+	// outbox payload와 같은 ObjectMapper로 직렬화 (날짜 형식 등 건별/일괄 전송이 같은 형태가 되도록)
+	private HttpEntity<String> json(Object body) throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		return new HttpEntity<>(objectMapper.writeValueAsString(body), headers);
+	}
+
+	// 배송 등록 응답의 deliveryId를 order_item에 저장 (배송 상태 변경 시 전체 배송 목록을 조회하지 않도록)
+	private void recordDeliveryId(Long orderItemId, String response) {
+		try {
+			DeliveryResponseDto drd = response == null ? null : objectMapper.readValue(response, DeliveryResponseDto.class);
+			if (drd != null && drd.getDeliveryId() != null) {
+				orderItemRepository.updateDeliveryId(orderItemId, drd.getDeliveryId());
+			}
+		} catch (Exception e) {
+			System.out.println("[outbox] deliveryId 저장 실패 : orderItemId => " + orderItemId + " " + e.getMessage());
+		}
+	}
+
+	// 일괄 등록 응답 : 상세 내역별 deliveryId 목록
+	private void recordDeliveryIds(String response) {
+		try {
+			List<DeliveryResponseDto> registered = response == null ? List.of()
+					: objectMapper.readValue(response, new TypeReference<List<DeliveryResponseDto>>() {});
+			for (DeliveryResponseDto drd : registered) {
+				if (drd.getOrderItemId() != null && drd.getDeliveryId() != null) {
+					orderItemRepository.updateDeliveryId(drd.getOrderItemId(), drd.getDeliveryId());
+				}
+			}
+		} catch (Exception e) {
+			System.out.println("[outbox] 일괄 등록 deliveryId 저장 실패 : " + e.getMessage());
+		}
+	}
+}
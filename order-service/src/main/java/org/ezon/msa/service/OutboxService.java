@@ -0,0 +1,204 @@
+package org.ezon.msa.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ezon.msa.entity.OutboxMessage;
+import org.ezon.msa.enums.OutboxStatus;
+import org.ezon.msa.enums.OutboxType;
+import org.ezon.msa.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+
+// 외부 서비스 호출을 outbox_message 테이블에 기록하고, OutboxRelay가 가져갈 메시지를 관리
+@Service
+public class OutboxService {
+
+	@Autowired
+	private OutboxMessageRepository outboxRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${order.outbox.maxAttempts:10}")
+	private int maxAttempts;
+
+	@Value("${order.outbox.backoff:2s}")
+	private Duration backoff;
+
+	@Value("${order.outbox.maxBackoff:10m}")
+	private Duration maxBackoff;
+
+	// 전송 중인 메시지를 다른 인스턴스가 다시 가져가지 않도록 잡아두는 시간
+	@Value("${order.outbox.lease:60s}")
+	private Duration lease;
+
+	// 배송서비스 메시지 키 : 단건/일괄 처리가 같은 상세 내역에 대해 순서대로 전송되도록 판매자 키를 같이 씀
+	// 판매자를 확인할 수 없는 상세 내역(일괄 처리 대상 아님)만 orderItemId
+	public static String deliveryKey(Long sellerId, Long orderItemId) {
+		if (sellerId != null) {
+			return "seller:" + sellerId;
+		}
+		return orderItemId == null ? null : orderItemId.toString();
+	}
+
+	// 호출하는 쪽 트랜잭션에 참여 (업무 데이터와 함께 커밋/롤백)
+	@Transactional
+	public OutboxMessage enqueue(OutboxType type, Object key, HttpMethod method, String url, Object body) {
+		return outboxRepository.save(build(type, key, method, url, body));
+	}
+
+	// 호출하는 쪽 트랜잭션이 롤백되어도 남아야 하는 요청 (주문 실패 보상)
+	@Transactional(TxType.REQUIRES_NEW)
+	public OutboxMessage enqueueNew(OutboxType type, Object key, HttpMethod method, String url, Object body) {
+		return outboxRepository.save(build(type, key, method, url, body));
+	}
+
+	// 전송할 메시지를 batchSize만큼 가져오고 lease 동안은 다른 relay가 가져가지 않게 한다
+	@Transactional
+	public List<OutboxMessage> claimDue(int batchSize) {
+		LocalDateTime now = LocalDateTime.now();
+		List<OutboxMessage> due = outboxRepository.findDueForUpdate(OutboxStatus.PENDING, now,
+				PageRequest.of(0, Math.max(1, batchSize)));
+		LocalDateTime leaseUntil = now.plus(lease);
+		for (OutboxMessage m : due) {
+			m.setNextAttemptAt(leaseUntil);
+		}
+		return due;
+	}
+
+	// 전송 결과 반영 : 실패한 메시지는 지수 백오프 후 재시도, maxAttempts를 넘으면 FAILED
+	// 재시도해도 실패하는 요청(rejected : 4xx 등)은 바로 DEAD (같은 키의 다음 메시지를 막지 않음)
+	@Transactional
+	public void complete(Collection<Long> sentIds, Map<Long, String> failures, Map<Long, String> rejected) {
+		LocalDateTime now = LocalDateTime.now();
+		if (!sentIds.isEmpty()) {
+			outboxRepository.markSent(sentIds, now);
+		}
+		if (!rejected.isEmpty()) {
+			for (OutboxMessage m : outboxRepository.findAllById(rejected.keySet())) {
+				m.setAttempts(m.getAttempts() + 1);
+				m.setLastError(truncate(rejected.get(m.getOutboxId())));
+				m.setStatus(OutboxStatus.DEAD);
+				System.out.println("[outbox 전송 불가] 재시도하지 않음 : " + m.getType() + " " + m.getUrl()
+						+ " => " + m.getLastError());
+			}
+		}
+		if (failures.isEmpty()) {
+			return;
+		}
+		for (OutboxMessage m : outboxRepository.findAllById(failures.keySet())) {
+			int attempts = m.getAttempts() + 1;
+			m.setAttempts(attempts);
+			m.setLastError(truncate(failures.get(m.getOutboxId())));
+			if (attempts >= maxAttempts) {
+				m.setStatus(OutboxStatus.FAILED);
+				System.out.println("[outbox 전송 실패] 재시도 횟수 초과 : " + m.getType() + " " + m.getUrl()
+						+ " => " + m.getLastError());
+			} else {
+				m.setNextAttemptAt(now.plus(backoffFor(attempts)));
+			}
+		}
+	}
+
+	// FAILED 메시지를 다시 전송 대기로 (외부 서비스 복구 후 운영자가 실행)
+	@Transactional
+	public int retryFailed() {
+		return outboxRepository.retryFailed(LocalDateTime.now());
+	}
+
+	// 한 건만 다시 전송 대기로 (FAILED/DEAD)
+	@Transactional
+	public boolean retry(Long outboxId) {
+		return outboxRepository.retryOne(outboxId, LocalDateTime.now()) > 0;
+	}
+
+	// FAILED 메시지를 버려서 같은 키의 다음 메시지가 전송되게 함
+	@Transactional
+	public boolean markDead(Long outboxId) {
+		return outboxRepository.markDead(outboxId) > 0;
+	}
+
+	// 다음 메시지를 막고 있는 키 (FAILED 메시지와 그 뒤에서 기다리는 PENDING 수)
+	public List<Map<String, Object>> blockedKeys(int limit) {
+		List<Map<String, Object>> result = new ArrayList<>();
+		for (OutboxMessage m : outboxRepository.findFailed(PageRequest.of(0, Math.max(1, limit)))) {
+			Map<String, Object> blocked = new LinkedHashMap<>();
+			blocked.put("outboxId", m.getOutboxId());
+			blocked.put("aggregateKey", m.getAggregateKey());
+			blocked.put("type", m.getType());
+			blocked.put("lastError", m.getLastError());
+			blocked.put("waiting", m.getAggregateKey() == null ? 0L : outboxRepository.countPendingByKey(m.getAggregateKey()));
+			result.add(blocked);
+		}
+		return result;
+	}
+
+	@Transactional
+	public int purgeSent(Duration retention) {
+		return outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+	}
+
+	public Map<String, Long> stats() {
+		Map<String, Long> result = new LinkedHashMap<>();
+		for (OutboxStatus status : OutboxStatus.values()) {
+			result.put(status.name(), 0L);
+		}
+		for (OutboxMessageRepository.StatusCount c : outboxRepository.countByStatus()) {
+			result.put(c.getStatus().name(), c.getCount());
+		}
+		return result;
+	}
+
+	private OutboxMessage build(OutboxType type, Object key, HttpMethod method, String url, Object body) {
+		LocalDateTime now = LocalDateTime.now();
+		return OutboxMessage.builder()
+				.type(type)
+				.aggregateKey(key == null ? null : key.toString())
+				.httpMethod(method.name())
+				.url(url)
+				.payload(toJson(body))
+				.status(OutboxStatus.PENDING)
+				.attempts(0)
+				.nextAttemptAt(now)
+				.createdAt(now)
+				.build();
+	}
+
+	private String toJson(Object body) {
+		if (body == null) {
+			return null;
+		}
+		try {
+			return objectMapper.writeValueAsString(body);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("outbox payload 변환 실패 : " + e.getMessage(), e);
+		}
+	}
+
+	private Duration backoffFor(int attempts) {
+		Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+
+	private static String truncate(String message) {
+		if (message == null) {
+			return null;
+		}
+		return message.length() > 500 ? message.substring(0, 500) : message;
+	}
+}
@@ -0,0 +1,126 @@
+package org.ezon.msa.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.ezon.msa.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문이 생성된 paymentId Bloom filter.
+ * <p>
+ * false면 처음 보는 결제이므로 DB 조회 없이 바로 주문을 만들고, true면(이미 있거나 오탐) DB에서 확인한다.
+ * 다른 인스턴스에서 생성된 주문은 모를 수 있으므로 최종 판단은 payment_id unique 제약으로 한다.
+ * 시작 시 orders.payment_id 인덱스를 순서대로 읽어 다시 채우며, 채우는 동안은 항상 true를 돌려준다.
+ */
+@Component
+public class PaymentIdFilter {
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	private final long expectedInsertions;
+	private final int numBits;
+	private final int numHashes;
+	private final AtomicLongArray bits;
+	private volatile boolean ready;
+
+	@Value("${order.idempotency.rebuildChunkSize:10000}")
+	private int rebuildChunkSize;
+
+	public PaymentIdFilter(
+			@Value("${order.idempotency.expectedInsertions:1000000}") long expectedInsertions,
+			@Value("${order.idempotency.falsePositiveRate:0.01}") double falsePositiveRate) {
+		this.expectedInsertions = Math.max(1, expectedInsertions);
+		double ln2 = Math.log(2);
+		long m = (long) Math.ceil(-this.expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+		this.numBits = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63L);
+		this.numHashes = Math.max(1, (int) Math.round((double) numBits / this.expectedInsertions * ln2));
+		this.bits = new AtomicLongArray((numBits + 63) / 64);
+	}
+
+	public boolean mightContain(Long paymentId) {
+		if (!ready || paymentId == null) {
+			return true;
+		}
+		long hash = mix(paymentId);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= numHashes; i++) {
+			int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+			if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public void put(Long paymentId) {
+		if (paymentId == null) {
+			return;
+		}
+		long hash = mix(paymentId);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= numHashes; i++) {
+			int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+			int word = index >>> 6;
+			long mask = 1L << index;
+			long prev;
+			while (((prev = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, prev, prev | mask)) {
+				// 다른 스레드가 같은 word를 바꿨으면 다시 시도
+			}
+		}
+	}
+
+	// 웹 요청을 받기 시작한 뒤 채우고, 끝나기 전까지는 mightContain이 true(DB 확인)라서 안전하다
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		long loaded = 0;
+		Long after = Long.MIN_VALUE;
+		while (true) {
+			List<Long> ids = orderRepository.findPaymentIdsAfter(after, PageRequest.of(0, Math.max(1, rebuildChunkSize)));
+			if (ids.isEmpty()) {
+				break;
+			}
+			ids.forEach(this::put);
+			loaded += ids.size();
+			after = ids.get(ids.size() - 1);
+		}
+		ready = true;
+		System.out.println("[paymentId 필터] 로드 완료 : " + loaded + "건 (예상 " + expectedInsertions + "건 기준)");
+	}
+
+	public Map<String, Object> stats() {
+		long setBits = 0;
+		for (int i = 0; i < bits.length(); i++) {
+			setBits += Long.bitCount(bits.get(i));
+		}
+		double fillRatio = (double) setBits / numBits;
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("ready", ready);
+		result.put("numBits", numBits);
+		result.put("numHashes", numHashes);
+		result.put("expectedInsertions", expectedInsertions);
+		result.put("fillRatio", fillRatio);
+		result.put("estimatedFalsePositiveRate", Math.pow(fillRatio, numHashes));
+		return result;
+	}
+
+	// MurmurHash3 fmix64 (연속된 paymentId도 비트가 고르게 퍼지도록)
+	private static long mix(long x) {
+		x ^= x >>> 33;
+		x *= 0xff51afd7ed558ccdL;
+		x ^= x >>> 33;
+		x *= 0xc4ceb9fe1a85ec53L;
+		x ^= x >>> 33;
+		return x;
+	}
+}
@@ -0,0 +1,133 @@
+package org.ezon.msa.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.ezon.msa.dto.ProductDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+// 상품서비스 조회를 한 요청 단위로 모아서 처리 (productId 중복 제거 후 일괄 조회)
+@Service
+public class ProductLookupService {
+
+	private static final String PRODUCT_URL = "http://localhost:10100/api/products/";
+	private static final String PRODUCT_BATCH_URL = "http://localhost:10100/api/products/batch?ids=";
+
+	@Autowired
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private RemoteLookupCache remoteLookupCache;
+
+	@Value("${order.product.batchSize:50}")
+	private int batchSize;
+
+	@Value("${order.product.batchEnabled:true}")
+	private boolean batchEnabled;
+
+	// 상품서비스에 batch API가 없다고 판단되면 이후로는 단건 조회만 사용
+	private final AtomicBoolean batchSupported = new AtomicBoolean(true);
+
+	/**
+	 * productId 목록을 한 번에 조회한다.
+	 * 조회에 실패한 productId는 결과 Map에 포함되지 않으므로 호출하는 쪽에서 기본값을 넣어야 한다.
+	 */
+	public Map<Long, ProductDto> findProducts(Collection<Long> productIds) {
+		List<Long> ids = new ArrayList<>(productIds.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new)));
+		Map<Long, ProductDto> result = new HashMap<>();
+		if (ids.isEmpty()) {
+			return result;
+		}
+
+		// 캐시에 있는 상품은 제외하고 나머지만 조회
+		result.putAll(remoteLookupCache.products().getAllPresent(ids));
+		ids.removeAll(result.keySet());
+
+		int chunkSize = Math.max(1, batchSize);
+		for (int from = 0; from < ids.size(); from += chunkSize) {
+			List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+			Map<Long, ProductDto> found = null;
+			if (batchEnabled && batchSupported.get() && chunk.size() > 1) {
+				found = fetchBatch(chunk);
+			}
+			if (found == null) {
+				found = fetchEach(chunk);
+			}
+			remoteLookupCache.products().putAll(found);
+			result.putAll(found);
+		}
+		return result;
+	}
+
+	public ProductDto findProduct(Long productId) {
+		return findProducts(List.of(productId)).get(productId);
+	}
+
+	private Map<Long, ProductDto> fetchBatch(List<Long> chunk) {
+		String url = PRODUCT_BATCH_URL + chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+		try {
+			Map<Long, ProductDto> body = restTemplate.exchange(
+					url,
+					HttpMethod.GET,
+					null,
+					new ParameterizedTypeReference<Map<Long, ProductDto>>() {}
+			).getBody();
+			Map<Long, ProductDto> result = new HashMap<>();
+			if (body != null) {
+				body.forEach((id, product) -> {
+					if (id != null && product != null) {
+						result.put(id, product);
+					}
+				});
+			}
+			return result;
+		} catch (HttpStatusCodeException e) {
+			HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+			if (status == HttpStatus.NOT_FOUND || status == HttpStatus.METHOD_NOT_ALLOWED
+					|| status == HttpStatus.NOT_IMPLEMENTED) {
+				batchSupported.set(false);
+				System.out.println("[상품서비스 batch API 없음] 단건 조회로 전환 : " + e.getStatusCode());
+			} else {
+				System.out.println("[상품서비스 batch 조회 실패] 단건 조회로 대체 : " + e.getMessage());
+			}
+		} catch (Exception e) {
+			System.out.println("[상품서비스 batch 조회 실패] 단건 조회로 대체 : " + e.getMessage());
+		}
+		return null;
+	}
+
+	private Map<Long, ProductDto> fetchEach(List<Long> chunk) {
+		Map<Long, ProductDto> result = new HashMap<>();
+		List<Long> failed = new ArrayList<>();
+		for (Long id : chunk) {
+			try {
+				ProductDto product = restTemplate.getForEntity(PRODUCT_URL + id, ProductDto.class).getBody();
+				if (product != null) {
+					result.put(id, product);
+				}
+			} catch (Exception e) {
+				failed.add(id);
+			}
+		}
+		if (!failed.isEmpty()) {
+			System.out.println("[상품서비스 연결 실패] productId : " + failed);
+		}
+		return result;
+	}
+}
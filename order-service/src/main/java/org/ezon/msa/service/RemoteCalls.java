@@ -0,0 +1,65 @@
+package org.ezon.msa.service;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// remoteCallExecutor로 외부 서비스를 동시에 호출하고 제한시간까지만 기다린다
+// 풀이 가득 차면 요청 스레드에서 대신 실행하지 않고 바로 기본값으로 끝냄 (제한시간을 넘기지 않도록)
+final class RemoteCalls {
+
+	private RemoteCalls() {
+	}
+
+	// 거절되면 null로 완료된 future (호출하는 쪽에서 실패와 같이 기본값으로 대체), 취소하면 실행 중인 호출도 interrupt
+	static <T> CompletableFuture<T> submit(Executor executor, Supplier<T> call) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		FutureTask<Void> task = new FutureTask<>(() -> {
+			try {
+				result.complete(call.get());
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			}
+		}, null);
+		result.whenComplete((value, error) -> {
+			if (result.isCancelled()) {
+				task.cancel(true);
+			}
+		});
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			System.out.println("[외부 호출 거절] 스레드풀/대기열 가득 참, 기본값 사용");
+			result.complete(null);
+		}
+		return result;
+	}
+
+	// 전부 끝나면 true, 제한시간이 지나면 끝나지 않은 호출은 취소하고 false (대기열에 남은 호출도 실행되지 않음)
+	static boolean awaitAll(Collection<? extends CompletableFuture<?>> futures, long timeoutMs) {
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(timeoutMs, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			// 개별 실패는 호출하는 쪽에서 기본값으로 대체
+			return true;
+		} finally {
+			for (CompletableFuture<?> future : futures) {
+				if (!future.isDone()) {
+					future.cancel(true);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package org.ezon.msa.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.ezon.msa.dto.ProductDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// 거의 바뀌지 않는 외부 서비스 조회 결과(상품, 상호명, 회원 이름, 카드 종류) 캐시
+// 실패 시 넣는 기본값("익명", "정보없음" 등)은 캐시하지 않는다
+@Component
+public class RemoteLookupCache {
+
+	private final Cache<Long, ProductDto> products;
+	private final Cache<Long, String> companyNames;
+	private final Cache<Long, String> userNames;
+	private final Cache<Long, String> cardTypes;
+
+	public RemoteLookupCache(
+			@Value("${order.cache.maxSize:10000}") long maxSize,
+			@Value("${order.cache.productTtl:10m}") Duration productTtl,
+			@Value("${order.cache.companyNameTtl:30m}") Duration companyNameTtl,
+			@Value("${order.cache.userNameTtl:30m}") Duration userNameTtl,
+			@Value("${order.cache.cardTypeTtl:60m}") Duration cardTypeTtl) {
+		this.products = build(maxSize, productTtl);
+		this.companyNames = build(maxSize, companyNameTtl);
+		this.userNames = build(maxSize, userNameTtl);
+		this.cardTypes = build(maxSize, cardTypeTtl);
+	}
+
+	private static <V> Cache<Long, V> build(long maxSize, Duration ttl) {
+		return Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+	}
+
+	public Cache<Long, ProductDto> products() {
+		return products;
+	}
+
+	public Cache<Long, String> companyNames() {
+		return companyNames;
+	}
+
+	public Cache<Long, String> userNames() {
+		return userNames;
+	}
+
+	public Cache<Long, String> cardTypes() {
+		return cardTypes;
+	}
+
+	public Map<String, Map<String, Object>> stats() {
+		Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+		result.put("product", toMap(products));
+		result.put("companyName", toMap(companyNames));
+		result.put("userName", toMap(userNames));
+		result.put("cardType", toMap(cardTypes));
+		return result;
+	}
+
+	private static Map<String, Object> toMap(Cache<?, ?> cache) {
+		CacheStats stats = cache.stats();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("size", cache.estimatedSize());
+		result.put("hitCount", stats.hitCount());
+		result.put("missCount", stats.missCount());
+		result.put("hitRate", stats.hitRate());
+		result.put("evictionCount", stats.evictionCount());
+		return result;
+	}
+}
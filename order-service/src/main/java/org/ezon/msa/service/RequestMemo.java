@@ -0,0 +1,47 @@
+package org.ezon.msa.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// HTTP 요청 하나 안에서 같은 (서비스, key) 외부 조회는 한 번만 수행
+// 요청 스레드가 아닌 곳(스레드풀, 스케줄러)에서는 memo 없이 바로 조회한다
+@Component
+public class RequestMemo {
+
+	private static final String ATTRIBUTE = RequestMemo.class.getName();
+	private static final Object NULL = new Object();
+
+	@SuppressWarnings("unchecked")
+	public <T> T get(String service, Object key, Supplier<T> loader) {
+		Map<String, Object> memo = currentMemo();
+		if (memo == null) {
+			return loader.get();
+		}
+		String memoKey = service + ":" + key;
+		Object value = memo.get(memoKey);
+		if (value == null) {
+			value = loader.get();
+			memo.put(memoKey, value != null ? value : NULL);
+		}
+		return value == NULL ? null : (T) value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> currentMemo() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+		Object memo = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (memo == null) {
+			memo = new ConcurrentHashMap<String, Object>();
+			attributes.setAttribute(ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+		}
+		return (Map<String, Object>) memo;
+	}
+}
@@ -0,0 +1,157 @@
+package org.ezon.msa.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.entity.SellerStatusCounter;
+import org.ezon.msa.enums.ClaimStatus;
+import org.ezon.msa.enums.ClaimType;
+import org.ezon.msa.enums.OrderStatus;
+import org.ezon.msa.repository.SellerStatusCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+
+// 판매자 대시보드 상태 개수 : 매 요청마다 전체를 세지 않고 상태 변경 시점에 증감한 값을 읽는다
+@Service
+public class SellerCounterService {
+
+	@Autowired
+	private SellerStatusCounterRepository counterRepository;
+
+	public static String itemKey(OrderStatus status) {
+		return "ITEM_" + status.name();
+	}
+
+	public static String claimKey(ClaimType type, ClaimStatus status) {
+		return "CLAIM_" + type.name() + "_" + status.name();
+	}
+
+	// 상세 내역 상태 변경 (from이 null이면 새로 생성된 상세 내역), 호출하는 쪽 트랜잭션에 참여
+	public void itemStatusChanged(OrderItem item, OrderStatus from, OrderStatus to) {
+		if (from == to) {
+			return;
+		}
+		Long sellerId = sellerOf(item);
+		if (sellerId == null) {
+			System.out.println("[판매자 상태 카운터] 판매자 확인 불가 : orderItemId => " + item.getOrderItemId());
+			return;
+		}
+		if (from != null) {
+			counterRepository.increment(sellerId, itemKey(from), -1);
+		}
+		if (to != null) {
+			counterRepository.increment(sellerId, itemKey(to), 1);
+		}
+	}
+
+	// 같은 상태에서 같은 상태로 바뀐 상세 내역 여러 건 (판매자별로 모아서 한 번씩 증감)
+	public void itemsStatusChanged(Collection<OrderItem> items, OrderStatus from, OrderStatus to) {
+		if (from == to || items.isEmpty()) {
+			return;
+		}
+		Map<Long, Long> perSeller = new HashMap<>();
+		for (OrderItem item : items) {
+			Long sellerId = sellerOf(item);
+			if (sellerId == null) {
+				System.out.println("[판매자 상태 카운터] 판매자 확인 불가 : orderItemId => " + item.getOrderItemId());
+				continue;
+			}
+			perSeller.merge(sellerId, 1L, Long::sum);
+		}
+		perSeller.forEach((sellerId, count) -> {
+			if (from != null) {
+				counterRepository.increment(sellerId, itemKey(from), -count);
+			}
+			if (to != null) {
+				counterRepository.increment(sellerId, itemKey(to), count);
+			}
+		});
+	}
+
+	// 클레임 상태 변경 (from이 null이면 새로 접수된 클레임), 호출하는 쪽 트랜잭션에 참여
+	public void claimStatusChanged(OrderItem item, ClaimType type, ClaimStatus from, ClaimStatus to) {
+		if (from == to) {
+			return;
+		}
+		Long sellerId = sellerOf(item);
+		if (sellerId == null) {
+			System.out.println("[판매자 상태 카운터] 판매자 확인 불가 : orderItemId => " + item.getOrderItemId());
+			return;
+		}
+		if (from != null) {
+			counterRepository.increment(sellerId, claimKey(type, from), -1);
+		}
+		if (to != null) {
+			counterRepository.increment(sellerId, claimKey(type, to), 1);
+		}
+	}
+
+	// orderItemGetAllStatus와 같은 형식
+	public Map<String, Integer> getItemStatusCount(Long sellerId) {
+		Map<String, Long> counts = load(sellerId);
+		int paidCount = count(counts, itemKey(OrderStatus.PAID));
+		int readyCount = count(counts, itemKey(OrderStatus.READY_SHIPMENT)) + count(counts, itemKey(OrderStatus.SHIPPED));
+		int completeCount = count(counts, itemKey(OrderStatus.DELIVERED))
+				+ count(counts, itemKey(OrderStatus.PURCHASE_CONFIRMED));
+		Map<String, Integer> result = new HashMap<>();
+		result.put("paidCount", paidCount);
+		result.put("readyCount", readyCount);
+		result.put("completeCount", completeCount);
+		result.put("processingCount", paidCount + readyCount);
+		return result;
+	}
+
+	// claimGetAllStatus와 같은 형식
+	public Map<String, Integer> getClaimStatusCount(Long sellerId, ClaimType type) {
+		Map<String, Long> counts = load(sellerId);
+		int readyCount = count(counts, claimKey(type, ClaimStatus.REQUESTED));
+		int completeCount = count(counts, claimKey(type, ClaimStatus.APPROVED));
+		int rejectCount = count(counts, claimKey(type, ClaimStatus.REJECTED));
+		Map<String, Integer> result = new HashMap<>();
+		result.put("rejectCount", rejectCount);
+		result.put("readyCount", readyCount);
+		result.put("completeCount", completeCount);
+		result.put("processingCount", readyCount + rejectCount);
+		return result;
+	}
+
+	// 카운터가 한 번도 채워지지 않았는지 (배포 직후)
+	public boolean isEmpty() {
+		return counterRepository.count() == 0;
+	}
+
+	// 테이블 기준으로 전체 카운터 재계산 (기동 시 비어 있을 때, 백필 후, 카운터가 어긋났을 때)
+	// seller_id가 아직 채워지지 않은 상세 내역은 제외된다 (SellerIdBackfillJob 이후에 실행)
+	// 키 형식은 itemKey / claimKey와 같아야 함 (SellerStatusCounterRepository의 concat)
+	@Transactional
+	public long rebuild() {
+		counterRepository.rebuildItemCounts();
+		counterRepository.rebuildClaimCounts();
+		int reset = counterRepository.resetStaleCounts();
+		long total = counterRepository.count();
+		System.out.println("[판매자 상태 카운터] 재계산 완료 : " + total + "건 (0으로 초기화 " + reset + "건)");
+		return total;
+	}
+
+	private Map<String, Long> load(Long sellerId) {
+		Map<String, Long> result = new HashMap<>();
+		for (SellerStatusCounter c : counterRepository.findBySellerId(sellerId)) {
+			result.put(c.getCounterKey(), c.getCount());
+		}
+		return result;
+	}
+
+	private static int count(Map<String, Long> counts, String key) {
+		return (int) Math.max(0L, counts.getOrDefault(key, 0L));
+	}
+
+	// 상태 변경 트랜잭션 안(행 잠금 중)에서는 외부 서비스를 호출하지 않음
+	// seller_id가 없는 상세 내역은 세지 않고, SellerIdBackfillJob이 채운 뒤 재계산할 때 포함된다
+	private static Long sellerOf(OrderItem item) {
+		return item.getSellerId();
+	}
+}
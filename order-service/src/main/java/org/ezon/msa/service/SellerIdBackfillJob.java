@@ -0,0 +1,114 @@
+package org.ezon.msa.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.ezon.msa.dto.ProductDto;
+import org.ezon.msa.entity.Order;
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.repository.OrderItemRepository;
+import org.ezon.msa.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// seller_id, ordered_at 컬럼 추가 전에 생성된 주문 상세 내역을 채우는 작업
+// 판매자를 확인할 수 없는 상품(상품서비스 장애 등)은 건너뛰고 retryAfter가 지난 뒤에 다시 시도한다
+// 채운 건이 있으면 판매자 상태 카운터를 다시 계산한다
+@Component
+public class SellerIdBackfillJob {
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ProductLookupService productLookupService;
+
+	@Autowired
+	private SellerCounterService sellerCounterService;
+
+	@Value("${order.backfill.enabled:true}")
+	private boolean enabled;
+
+	@Value("${order.backfill.chunkSize:500}")
+	private int chunkSize;
+
+	@Value("${order.backfill.retryAfter:6h}")
+	private Duration retryAfter;
+
+	// 채우지 못한 상세 내역 -> 다시 시도할 시각 (매 실행마다 같은 상품을 다시 조회하지 않도록)
+	private final Map<Long, Long> retryAt = new ConcurrentHashMap<>();
+
+	@Scheduled(initialDelayString = "${order.backfill.initialDelayMs:10000}", fixedDelayString = "${order.backfill.delayMs:600000}")
+	public void run() {
+		if (!enabled) {
+			return;
+		}
+		int updated = 0;
+		int skipped = 0;
+		Long afterId = 0L;
+		while (true) {
+			List<OrderItem> chunk = orderItemRepository.findBackfillTargets(afterId, PageRequest.of(0, Math.max(1, chunkSize)));
+			if (chunk.isEmpty()) {
+				break;
+			}
+			afterId = chunk.get(chunk.size() - 1).getOrderItemId();
+
+			long now = System.currentTimeMillis();
+			List<OrderItem> items = chunk.stream()
+					.filter(item -> retryAt.getOrDefault(item.getOrderItemId(), 0L) <= now)
+					.toList();
+			if (items.isEmpty()) {
+				continue;
+			}
+
+			Map<Long, ProductDto> products = productLookupService.findProducts(items.stream()
+					.filter(item -> item.getSellerId() == null)
+					.map(OrderItem::getProductId)
+					.toList());
+			Map<String, Order> orders = orderRepository.findByOrderedNumIn(items.stream()
+					.filter(item -> item.getOrderedAt() == null)
+					.map(OrderItem::getOrderedNum)
+					.collect(Collectors.toSet()))
+					.stream().collect(Collectors.toMap(Order::getOrderedNum, o -> o));
+
+			for (OrderItem item : items) {
+				Long sellerId = item.getSellerId() != null ? null
+						: OrderService.parseSellerId(products.get(item.getProductId()));
+				LocalDateTime orderedAt = null;
+				if (item.getOrderedAt() == null) {
+					Order order = orders.get(item.getOrderedNum());
+					orderedAt = order == null ? null : order.getOrderedAt();
+				}
+				if (sellerId != null || orderedAt != null) {
+					updated += orderItemRepository.fillBackfillColumns(item.getOrderItemId(), sellerId, orderedAt);
+				}
+				boolean complete = (item.getSellerId() != null || sellerId != null)
+						&& (item.getOrderedAt() != null || orderedAt != null);
+				if (complete) {
+					retryAt.remove(item.getOrderItemId());
+				} else {
+					skipped++;
+					retryAt.put(item.getOrderItemId(), now + retryAfter.toMillis());
+				}
+			}
+		}
+		if (updated > 0 || skipped > 0) {
+			System.out.println("[seller_id 백필] 처리 : " + updated + "건, 미완료 : " + skipped + "건 ("
+					+ retryAfter.toMinutes() + "분 뒤 다시 시도)");
+		}
+		// seller_id가 새로 채워진 상세 내역은 판매자 상태 카운터에 없으므로 다시 계산
+		if (updated > 0) {
+			sellerCounterService.rebuild();
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.ezon.msa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class PaginationTest {
+
+	@Test
+	void cursorRoundTrip() {
+		LocalDateTime at = LocalDateTime.of(2025, 3, 10, 12, 0, 0, 123_000_000);
+
+		Pagination.Cursor cursor = Pagination.decodeCursor(Pagination.encodeCursor(at, "2025031043200500001001"));
+
+		assertEquals(at, cursor.at());
+		assertEquals("2025031043200500001001", cursor.id());
+	}
+
+	@Test
+	void cursorKeepsIdWithSeparator() {
+		LocalDateTime at = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+		Pagination.Cursor cursor = Pagination.decodeCursor(Pagination.encodeCursor(at, "a|b"));
+
+		assertEquals(at, cursor.at());
+		assertEquals("a|b", cursor.id());
+	}
+
+	@Test
+	void cursorIsUrlSafe() {
+		String cursor = Pagination.encodeCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59), 9_999_999_999L);
+
+		assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+	}
+
+	@Test
+	void invalidCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> Pagination.decodeCursor("not base64!"));
+		// base64는 맞지만 구분자/일시가 없음
+		assertThrows(IllegalArgumentException.class, () -> Pagination.decodeCursor("YWJj"));
+		assertThrows(IllegalArgumentException.class, () -> Pagination.decodeCursor(null));
+	}
+
+	@Test
+	void clampSize() {
+		assertEquals(1, Pagination.clampSize(0));
+		assertEquals(1, Pagination.clampSize(-5));
+		assertEquals(10, Pagination.clampSize(10));
+		assertEquals(Pagination.MAX_SIZE, Pagination.clampSize(Integer.MAX_VALUE));
+	}
+}
@@ -0,0 +1,128 @@
+package org.ezon.msa.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class EventRingBufferTest {
+
+	@Test
+	void roundsCapacityUpToPowerOfTwo() {
+		assertEquals(8, new EventRingBuffer<Integer>(5).capacity());
+		assertEquals(8, new EventRingBuffer<Integer>(8).capacity());
+		assertEquals(2, new EventRingBuffer<Integer>(0).capacity());
+	}
+
+	@Test
+	void keepsFifoOrderAndRejectsWhenFull() {
+		EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+		assertEquals(4, buffer.size());
+
+		assertEquals(0, buffer.poll());
+		assertTrue(buffer.offer(4));
+		List<Integer> out = new ArrayList<>();
+		assertEquals(4, buffer.drainTo(out, 10));
+		assertEquals(List.of(1, 2, 3, 4), out);
+		assertNull(buffer.poll());
+	}
+
+	@Test
+	void wrapsAroundManyTimes() {
+		EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(buffer.offer(i));
+			assertTrue(buffer.offer(-i));
+			assertEquals(i, buffer.poll());
+			assertEquals(-i, buffer.poll());
+		}
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	void drainToStopsAtMax() {
+		EventRingBuffer<Integer> buffer = new EventRingBuffer<>(8);
+		for (int i = 0; i < 5; i++) {
+			buffer.offer(i);
+		}
+
+		List<Integer> out = new ArrayList<>();
+		assertEquals(3, buffer.drainTo(out, 3));
+		assertEquals(List.of(0, 1, 2), out);
+		assertEquals(2, buffer.size());
+	}
+
+	@Test
+	void noLossOrDuplicatesWithConcurrentProducersAndConsumers() throws Exception {
+		EventRingBuffer<Integer> buffer = new EventRingBuffer<>(64);
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 10_000;
+		int total = producers * perProducer;
+		Set<Integer> received = ConcurrentHashMap.newKeySet();
+		AtomicInteger duplicates = new AtomicInteger();
+		AtomicInteger consumed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int p = 0; p < producers; p++) {
+				int base = p * perProducer;
+				futures.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < perProducer; i++) {
+						while (!buffer.offer(base + i)) {
+							Thread.yield();
+						}
+					}
+					return null;
+				}));
+			}
+			for (int c = 0; c < consumers; c++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					while (consumed.get() < total) {
+						Integer value = buffer.poll();
+						if (value == null) {
+							Thread.yield();
+							continue;
+						}
+						if (!received.add(value)) {
+							duplicates.incrementAndGet();
+						}
+						consumed.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(0, duplicates.get());
+		assertEquals(total, received.size());
+		assertNull(buffer.poll());
+	}
+}
@@ -0,0 +1,78 @@
+package org.ezon.msa.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OrderEventBusTest {
+
+	@Test
+	void noListenersStartsNoConsumersAndDropsEvents() {
+		OrderEventBus bus = bus(List.of(), Duration.ofMillis(1));
+		bus.publishAfterCommit(event("N1"));
+
+		bus.start();
+		bus.publishAfterCommit(event("N2"));
+
+		assertEquals(0, bus.stats().get("consumers"));
+		assertEquals(0, bus.stats().get("capacity"));
+		// 기동 중 1건만 버퍼에 들어갔고 이후 발행은 건너뜀
+		assertEquals(1L, bus.stats().get("publishedCount"));
+		bus.stop();
+	}
+
+	@Test
+	void idleConsumerIsWokenByPublish() throws InterruptedException {
+		List<OrderDomainEvent> received = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(2);
+		OrderEventListener listener = events -> {
+			received.addAll(events);
+			events.forEach(e -> latch.countDown());
+		};
+		// 깨우지 않으면 1시간 동안 잠듦
+		OrderEventBus bus = bus(List.of(listener), Duration.ofHours(1));
+		bus.start();
+		try {
+			bus.publishAfterCommit(event("N1"));
+			Thread.sleep(50);
+			bus.publishAfterCommit(event("N2"));
+
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertEquals(List.of("N1", "N2"), received.stream().map(OrderDomainEvent::orderedNum).toList());
+		} finally {
+			bus.stop();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static OrderEventBus bus(List<OrderEventListener> listeners, Duration idleWait) {
+		ObjectProvider<OrderEventListener> provider = mock(ObjectProvider.class);
+		when(provider.orderedStream()).thenAnswer(inv -> listeners.stream());
+		OrderEventBus bus = new OrderEventBus();
+		ReflectionTestUtils.setField(bus, "listenerProvider", provider);
+		ReflectionTestUtils.setField(bus, "enabled", true);
+		ReflectionTestUtils.setField(bus, "capacity", 64);
+		ReflectionTestUtils.setField(bus, "batchSize", 16);
+		ReflectionTestUtils.setField(bus, "consumerCount", 1);
+		ReflectionTestUtils.setField(bus, "idleWait", idleWait);
+		ReflectionTestUtils.setField(bus, "offerTimeout", Duration.ZERO);
+		bus.init();
+		return bus;
+	}
+
+	private static OrderCreatedEvent event(String orderedNum) {
+		return new OrderCreatedEvent(orderedNum, 1L, 1L, 1000, List.of(1L), LocalDateTime.now());
+	}
+}
@@ -0,0 +1,130 @@
+package org.ezon.msa.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+	@Test
+	void staysClosedBelowMinimumCalls() {
+		CircuitBreaker breaker = new CircuitBreaker("product", props(Duration.ofMinutes(1)));
+
+		for (int i = 0; i < 3; i++) {
+			call(breaker, true, 0);
+		}
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void opensAtFailureRateAndRejectsCalls() {
+		CircuitBreaker breaker = new CircuitBreaker("product", props(Duration.ofMinutes(1)));
+
+		call(breaker, false, 0);
+		call(breaker, false, 0);
+		call(breaker, true, 0);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		call(breaker, true, 0);
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+		assertEquals(1L, breaker.stats().get("notPermittedCalls"));
+	}
+
+	@Test
+	void opensAtSlowCallRate() {
+		CircuitBreaker breaker = new CircuitBreaker("product", props(Duration.ofMinutes(1)));
+
+		for (int i = 0; i < 4; i++) {
+			call(breaker, false, 500);
+		}
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	void halfOpenClosesAfterSuccessfulTrialCalls() {
+		CircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+		long first = breaker.tryAcquire();
+		long second = breaker.tryAcquire();
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		// 시험 호출은 halfOpenCalls건까지만
+		assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+
+		breaker.onResult(first, false, 0);
+		breaker.onResult(second, false, 0);
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(0, breaker.stats().get("bufferedCalls"));
+	}
+
+	@Test
+	void halfOpenReopensOnFailure() {
+		CircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+		long permit = breaker.tryAcquire();
+		breaker.onResult(permit, true, 0);
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	void ignoresResultsFromEarlierGeneration() {
+		CircuitBreaker breaker = new CircuitBreaker("product", props(Duration.ofMinutes(1)));
+		long stale = breaker.tryAcquire();
+		for (int i = 0; i < 4; i++) {
+			call(breaker, true, 0);
+		}
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+		// OPEN 전환 전에 시작된 호출의 성공은 반영하지 않음
+		breaker.onResult(stale, false, 0);
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	void releaseFreesHalfOpenSlot() {
+		CircuitBreaker breaker = openBreaker(Duration.ZERO);
+		long first = breaker.tryAcquire();
+		breaker.tryAcquire();
+		assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+
+		breaker.release(first);
+
+		assertNotEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+	}
+
+	private static CircuitBreaker openBreaker(Duration openDuration) {
+		CircuitBreaker breaker = new CircuitBreaker("product", props(openDuration));
+		for (int i = 0; i < 4; i++) {
+			call(breaker, true, 0);
+		}
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		return breaker;
+	}
+
+	private static void call(CircuitBreaker breaker, boolean failure, long elapsedMillis) {
+		long permit = breaker.tryAcquire();
+		assertNotEquals(CircuitBreaker.NOT_PERMITTED, permit);
+		breaker.onResult(permit, failure, elapsedMillis);
+	}
+
+	// 최근 4건 중 4건 이상 쌓이면 판단, 실패 50% / 느린 호출(100ms 이상) 100%
+	private static ResilienceProperties props(Duration openDuration) {
+		ResilienceProperties props = new ResilienceProperties();
+		props.setWindowSize(4);
+		props.setMinimumCalls(4);
+		props.setFailureRateThreshold(50);
+		props.setSlowCallDuration(Duration.ofMillis(100));
+		props.setSlowCallRateThreshold(100);
+		props.setOpenDuration(openDuration);
+		props.setHalfOpenCalls(2);
+		return props;
+	}
+}
@@ -0,0 +1,50 @@
+package org.ezon.msa.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.ezon.msa.dto.ShipmentRequestDto;
+import org.junit.jupiter.api.Test;
+
+class BulkOrderItemServiceTest {
+
+	@Test
+	void parsesLinesAndSkipsHeader() {
+		List<ShipmentRequestDto> shipments = BulkOrderItemService.parseShipments(
+				"orderItemId,trackingNumber\r\n101,123456789012\r\n\r\n102, 998877 \n");
+
+		assertEquals(2, shipments.size());
+		assertEquals(101L, shipments.get(0).getOrderItemId());
+		assertEquals("123456789012", shipments.get(0).getTrackingNumber());
+		assertEquals(102L, shipments.get(1).getOrderItemId());
+		assertEquals("998877", shipments.get(1).getTrackingNumber());
+	}
+
+	@Test
+	void stripsBomAndQuotes() {
+		List<ShipmentRequestDto> shipments = BulkOrderItemService.parseShipments("\uFEFF\"7\",\"5550001\"");
+
+		assertEquals(1, shipments.size());
+		assertEquals(7L, shipments.get(0).getOrderItemId());
+		assertEquals("5550001", shipments.get(0).getTrackingNumber());
+	}
+
+	@Test
+	void rejectsMalformedLines() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> BulkOrderItemService.parseShipments("1,111\nabc,222"));
+		assertTrue(e.getMessage().contains("2번째 줄"), e.getMessage());
+
+		assertThrows(IllegalArgumentException.class, () -> BulkOrderItemService.parseShipments("1,111\n2"));
+	}
+
+	@Test
+	void emptyInputGivesNoShipments() {
+		assertTrue(BulkOrderItemService.parseShipments(null).isEmpty());
+		assertTrue(BulkOrderItemService.parseShipments("").isEmpty());
+		assertTrue(BulkOrderItemService.parseShipments("orderItemId,trackingNumber\n").isEmpty());
+	}
+}
@@ -0,0 +1,134 @@
+package org.ezon.msa.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class OrderNumberGeneratorTest {
+
+	private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+	@Test
+	void noDuplicatesUnderParallelLoad() throws Exception {
+		OrderNumberGenerator generator = new OrderNumberGenerator(7, Clock.system(ZONE));
+		int threads = 16;
+		int perThread = 20_000;
+		Set<String> issued = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(pool.submit(() -> {
+					start.await();
+					String prev = "";
+					boolean increasing = true;
+					for (int i = 0; i < perThread; i++) {
+						String num = generator.next();
+						issued.add(num);
+						increasing &= num.compareTo(prev) > 0;
+						prev = num;
+					}
+					return increasing;
+				}));
+			}
+			start.countDown();
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get(), "한 스레드 안에서 주문번호는 항상 증가해야 함");
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(threads * perThread, issued.size());
+	}
+
+	@Test
+	void keepsIncreasingWhenClockGoesBackwards() {
+		MutableClock clock = new MutableClock(Instant.parse("2025-03-10T03:00:00.500Z").toEpochMilli());
+		OrderNumberGenerator generator = new OrderNumberGenerator(1, clock);
+
+		String first = generator.next();
+		clock.millis.addAndGet(-5_000);
+		String second = generator.next();
+		String third = generator.next();
+
+		assertTrue(second.compareTo(first) > 0);
+		assertTrue(third.compareTo(second) > 0);
+		// 마지막으로 사용한 시각(12:00:00.500 KST)이 유지됨
+		assertEquals("20250310" + "43200500" + "001" + "001", second);
+	}
+
+	@Test
+	void borrowsNextMillisecondWhenSequenceIsExhausted() {
+		MutableClock clock = new MutableClock(Instant.parse("2025-03-10T03:00:00Z").toEpochMilli());
+		OrderNumberGenerator generator = new OrderNumberGenerator(2, clock);
+
+		String last = null;
+		for (int i = 0; i < 1000; i++) {
+			last = generator.next();
+		}
+		assertEquals("20250310" + "43200000" + "002" + "999", last);
+		assertEquals("20250310" + "43200001" + "002" + "000", generator.next());
+	}
+
+	@Test
+	void keepsDatePrefixAndFixedLength() {
+		MutableClock clock = new MutableClock(Instant.parse("2025-12-31T14:59:59.999Z").toEpochMilli());
+		OrderNumberGenerator generator = new OrderNumberGenerator(999, clock);
+
+		String num = generator.next();
+		assertEquals(22, num.length());
+		assertEquals("20251231" + "86399999" + "999" + "000", num);
+		clock.millis.incrementAndGet();
+		assertTrue(generator.next().startsWith("20260101" + "00000000"));
+	}
+
+	@Test
+	void rejectsOutOfRangeNodeId() {
+		assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(1000, Clock.system(ZONE)));
+		assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(-1, Clock.system(ZONE)));
+	}
+
+	private static class MutableClock extends Clock {
+		private final AtomicLong millis;
+
+		MutableClock(long millis) {
+			this.millis = new AtomicLong(millis);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZONE;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long millis() {
+			return millis.get();
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis());
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package org.ezon.msa.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.ezon.msa.dto.StatusTransitionDto;
+import org.ezon.msa.entity.Claim;
+import org.ezon.msa.entity.OrderItem;
+import org.ezon.msa.enums.ClaimEvent;
+import org.ezon.msa.enums.ClaimStatus;
+import org.ezon.msa.enums.ClaimType;
+import org.ezon.msa.enums.OrderEvent;
+import org.ezon.msa.enums.OrderStatus;
+import org.ezon.msa.event.OrderEventBus;
+import org.ezon.msa.exception.IllegalStatusTransitionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStateMachineTest {
+
+	@Mock
+	private SellerCounterService sellerCounterService;
+
+	@Mock
+	private OrderDetailCache orderDetailCache;
+
+	@Mock
+	private OrderEventBus orderEventBus;
+
+	@InjectMocks
+	private OrderStateMachine stateMachine;
+
+	@Test
+	void advanceFollowsShippingChain() {
+		assertEquals(OrderStatus.READY_SHIPMENT, OrderStateMachine.next(OrderStatus.PAID, OrderEvent.ADVANCE));
+		assertEquals(OrderStatus.SHIPPED, OrderStateMachine.next(OrderStatus.READY_SHIPMENT, OrderEvent.ADVANCE));
+		assertEquals(OrderStatus.DELIVERED, OrderStateMachine.next(OrderStatus.SHIPPED, OrderEvent.ADVANCE));
+		assertEquals(OrderStatus.PURCHASE_CONFIRMED, OrderStateMachine.next(OrderStatus.DELIVERED, OrderEvent.ADVANCE));
+		// 구매확정 이후, 취소/클레임 상태에서는 진행 불가
+		for (OrderStatus from : EnumSet.complementOf(EnumSet.of(OrderStatus.PAID, OrderStatus.READY_SHIPMENT,
+				OrderStatus.SHIPPED, OrderStatus.DELIVERED))) {
+			assertNull(OrderStateMachine.next(from, OrderEvent.ADVANCE), from.name());
+		}
+	}
+
+	@Test
+	void cancelOnlyBeforeShipment() {
+		Set<OrderStatus> cancellable = EnumSet.of(OrderStatus.PAID, OrderStatus.READY_SHIPMENT);
+		for (OrderStatus from : OrderStatus.values()) {
+			boolean allowed = cancellable.contains(from);
+			assertEquals(allowed, OrderStateMachine.next(from, OrderEvent.CANCEL_SOLD_OUT) != null, from.name());
+			assertEquals(allowed, OrderStateMachine.next(from, OrderEvent.CANCEL_NO_DELIVERY) != null, from.name());
+			assertEquals(allowed, OrderStateMachine.next(from, OrderEvent.REQUEST_CANCEL) != null, from.name());
+		}
+		assertEquals(OrderStatus.CANCELLED_EMPTY, OrderStateMachine.next(OrderStatus.PAID, OrderEvent.CANCEL_SOLD_OUT));
+		assertEquals(OrderStatus.CANCELLED_NO_DELIVERY,
+				OrderStateMachine.next(OrderStatus.READY_SHIPMENT, OrderEvent.CANCEL_NO_DELIVERY));
+		assertEquals(OrderStatus.CANCELLED, OrderStateMachine.next(OrderStatus.PAID, OrderEvent.REQUEST_CANCEL));
+	}
+
+	@Test
+	void approveAndRejectOnlyFromRequested() {
+		for (OrderStatus from : OrderStatus.values()) {
+			assertEquals(from == OrderStatus.REFUND_REQUESTED,
+					OrderStateMachine.next(from, OrderEvent.APPROVE_REFUND) != null, from.name());
+			assertEquals(from == OrderStatus.REFUND_REQUESTED,
+					OrderStateMachine.next(from, OrderEvent.REJECT_REFUND) != null, from.name());
+			assertEquals(from == OrderStatus.EXCHANGE_REQUESTED,
+					OrderStateMachine.next(from, OrderEvent.APPROVE_EXCHANGE) != null, from.name());
+			assertEquals(from == OrderStatus.EXCHANGE_REQUESTED,
+					OrderStateMachine.next(from, OrderEvent.REJECT_EXCHANGE) != null, from.name());
+		}
+		for (ClaimStatus from : ClaimStatus.values()) {
+			assertEquals(from == ClaimStatus.REQUESTED, OrderStateMachine.next(from, ClaimEvent.APPROVE) != null);
+			assertEquals(from == ClaimStatus.REQUESTED, OrderStateMachine.next(from, ClaimEvent.REJECT) != null);
+		}
+	}
+
+	@Test
+	void confirmPurchaseSources() {
+		Set<OrderStatus> sources = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.REFUND_REJECTED,
+				OrderStatus.EXCHANGE_APPROVED, OrderStatus.EXCHANGE_REJECTED);
+		for (OrderStatus from : OrderStatus.values()) {
+			OrderStatus to = OrderStateMachine.next(from, OrderEvent.CONFIRM_PURCHASE);
+			assertEquals(sources.contains(from) ? OrderStatus.PURCHASE_CONFIRMED : null, to, from.name());
+		}
+	}
+
+	@Test
+	void refundAndExchangeRequestsOnlyAfterDelivery() {
+		for (OrderStatus from : OrderStatus.values()) {
+			assertEquals(from == OrderStatus.DELIVERED, OrderStateMachine.next(from, OrderEvent.REQUEST_REFUND) != null);
+			assertEquals(from == OrderStatus.DELIVERED, OrderStateMachine.next(from, OrderEvent.REQUEST_EXCHANGE) != null);
+		}
+	}
+
+	@Test
+	void applyChangesOnlyAllowedItems() {
+		OrderItem paid = item(1L, OrderStatus.PAID);
+		OrderItem delivered = item(2L, OrderStatus.DELIVERED);
+
+		List<StatusTransitionDto> results = stateMachine.apply(List.of(paid, delivered), OrderEvent.CANCEL_SOLD_OUT);
+
+		assertTrue(results.get(0).isApplied());
+		assertFalse(results.get(1).isApplied());
+		assertEquals(OrderStatus.CANCELLED_EMPTY, paid.getStatus());
+		assertEquals(OrderStatus.DELIVERED, delivered.getStatus());
+		verify(sellerCounterService).itemStatusChanged(paid, OrderStatus.PAID, OrderStatus.CANCELLED_EMPTY);
+		verify(sellerCounterService, times(1)).itemStatusChanged(any(), any(), any());
+	}
+
+	@Test
+	void applySingleThrowsWhenNotAllowed() {
+		OrderItem shipped = item(3L, OrderStatus.SHIPPED);
+
+		IllegalStatusTransitionException e = assertThrows(IllegalStatusTransitionException.class,
+				() -> stateMachine.apply(shipped, OrderEvent.CANCEL_SOLD_OUT));
+
+		assertEquals(3L, e.getTargetId());
+		assertEquals(OrderStatus.SHIPPED, e.getFrom());
+		assertEquals(OrderStatus.SHIPPED, shipped.getStatus());
+	}
+
+	@Test
+	void approveRefundClaimMovesClaimAndItem() {
+		OrderItem item = item(4L, OrderStatus.REFUND_REQUESTED);
+		Claim claim = claim(ClaimType.REFUND, ClaimStatus.REQUESTED, 4L);
+
+		assertEquals(ClaimStatus.APPROVED, stateMachine.apply(claim, item, ClaimEvent.APPROVE));
+
+		assertEquals(ClaimStatus.APPROVED, claim.getStatus());
+		assertEquals(OrderStatus.REFUND_APPROVED, item.getStatus());
+		verify(sellerCounterService).claimStatusChanged(item, ClaimType.REFUND, ClaimStatus.REQUESTED, ClaimStatus.APPROVED);
+	}
+
+	@Test
+	void claimApplyRejectsProcessedClaim() {
+		OrderItem item = item(5L, OrderStatus.REFUND_APPROVED);
+		Claim claim = claim(ClaimType.REFUND, ClaimStatus.APPROVED, 5L);
+
+		assertThrows(IllegalStatusTransitionException.class, () -> stateMachine.apply(claim, item, ClaimEvent.REJECT));
+
+		assertEquals(ClaimStatus.APPROVED, claim.getStatus());
+		assertEquals(OrderStatus.REFUND_APPROVED, item.getStatus());
+	}
+
+	@Test
+	void claimApplyRejectsItemNotInRequestedState() {
+		// 클레임은 REQUESTED지만 상세 내역이 환불 요청 상태가 아니면 클레임도 바꾸지 않음
+		OrderItem item = item(6L, OrderStatus.DELIVERED);
+		Claim claim = claim(ClaimType.REFUND, ClaimStatus.REQUESTED, 6L);
+
+		assertThrows(IllegalStatusTransitionException.class, () -> stateMachine.apply(claim, item, ClaimEvent.APPROVE));
+
+		assertEquals(ClaimStatus.REQUESTED, claim.getStatus());
+		assertEquals(OrderStatus.DELIVERED, item.getStatus());
+		verify(sellerCounterService, never()).claimStatusChanged(any(), any(), any(), any());
+	}
+
+	@Test
+	void claimApplyRequiresItemForRefundAndExchange() {
+		Claim claim = claim(ClaimType.EXCHANGE, ClaimStatus.REQUESTED, 7L);
+
+		assertThrows(IllegalStatusTransitionException.class, () -> stateMachine.apply(claim, null, ClaimEvent.APPROVE));
+		assertEquals(ClaimStatus.REQUESTED, claim.getStatus());
+	}
+
+	@Test
+	void cancelClaimDoesNotTouchItemStatus() {
+		// 취소는 요청 시점에 이미 CANCELLED
+		OrderItem item = item(8L, OrderStatus.CANCELLED);
+		Claim claim = claim(ClaimType.CANCEL, ClaimStatus.REQUESTED, 8L);
+
+		assertEquals(ClaimStatus.APPROVED, stateMachine.apply(claim, item, ClaimEvent.APPROVE));
+		assertEquals(OrderStatus.CANCELLED, item.getStatus());
+	}
+
+	private static OrderItem item(Long id, OrderStatus status) {
+		return OrderItem.builder().orderItemId(id).orderedNum("N" + id).sellerId(9L).status(status).build();
+	}
+
+	private static Claim claim(ClaimType type, ClaimStatus status, Long orderItemId) {
+		return Claim.builder().claimId(orderItemId * 10).orderItemId(orderItemId).type(type).status(status).build();
+	}
+}
@@ -0,0 +1,84 @@
+package org.ezon.msa.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.ezon.msa.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PaymentIdFilterTest {
+
+	@Test
+	void answersMaybeUntilLoaded() {
+		PaymentIdFilter filter = new PaymentIdFilter(1000, 0.01);
+
+		assertTrue(filter.mightContain(42L));
+		assertTrue(filter.mightContain(null));
+		assertEquals(false, filter.stats().get("ready"));
+	}
+
+	@Test
+	void rebuildLoadsAllChunks() {
+		OrderRepository repository = mock(OrderRepository.class);
+		when(repository.findPaymentIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+		when(repository.findPaymentIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+		when(repository.findPaymentIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+		PaymentIdFilter filter = filter(repository, 1000, 0.01);
+
+		filter.rebuild();
+
+		assertEquals(true, filter.stats().get("ready"));
+		assertTrue(filter.mightContain(1L));
+		assertTrue(filter.mightContain(2L));
+		assertTrue(filter.mightContain(3L));
+	}
+
+	@Test
+	void noFalseNegativesAndFalsePositivesNearTarget() {
+		int n = 20_000;
+		PaymentIdFilter filter = filter(emptyRepository(), n, 0.01);
+		filter.rebuild();
+
+		LongStream.rangeClosed(1, n).forEach(filter::put);
+
+		for (long id = 1; id <= n; id++) {
+			assertTrue(filter.mightContain(id), "추가한 paymentId는 항상 true : " + id);
+		}
+		long falsePositives = LongStream.rangeClosed(n + 1L, 2L * n).filter(filter::mightContain).count();
+		// 목표 1%, 연속된 id라도 고르게 퍼져야 함
+		assertTrue(falsePositives < n * 0.02, "오탐 " + falsePositives + "건");
+	}
+
+	@Test
+	void unseenIdIsUsuallyAbsent() {
+		PaymentIdFilter filter = filter(emptyRepository(), 1000, 0.01);
+		filter.rebuild();
+		filter.put(7L);
+
+		assertTrue(filter.mightContain(7L));
+		assertFalse(filter.mightContain(8L));
+	}
+
+	private static OrderRepository emptyRepository() {
+		OrderRepository repository = mock(OrderRepository.class);
+		when(repository.findPaymentIdsAfter(any(), any(Pageable.class))).thenReturn(List.of());
+		return repository;
+	}
+
+	private static PaymentIdFilter filter(OrderRepository repository, long expectedInsertions, double falsePositiveRate) {
+		PaymentIdFilter filter = new PaymentIdFilter(expectedInsertions, falsePositiveRate);
+		ReflectionTestUtils.setField(filter, "orderRepository", repository);
+		ReflectionTestUtils.setField(filter, "rebuildChunkSize", 2);
+		return filter;
+	}
+}